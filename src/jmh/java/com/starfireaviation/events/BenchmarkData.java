@@ -0,0 +1,82 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events;
+
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.model.EventEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic data shared by the benchmarks. A fixed seed keeps runs comparable.
+ */
+public final class BenchmarkData {
+
+    private static final int LESSON_PLANS = 40;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates fully populated events, one per day going back from now.
+     *
+     * @param count number of events
+     * @return list of EventEntity
+     */
+    public static List<EventEntity> events(final int count) {
+        final Random random = new Random(count);
+        final EventType[] types = EventType.values();
+        final LocalDateTime now = LocalDateTime.now();
+        final List<EventEntity> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final EventEntity event = new EventEntity();
+            event.setId((long) i + 1);
+            event.setVersion(0L);
+            event.setTitle("Ground school session " + i + ": weather theory and flight planning");
+            event.setEventType(types[i % types.length]);
+            event.setPrivateEvent(i % 10 == 0);
+            event.setStarted(true);
+            event.setStartTime(now.minusDays(count - i));
+            event.setCompleted(true);
+            event.setCompletedTime(now.minusDays(count - i).plusHours(2));
+            event.setCalendarUrl("https://calendar.starfireaviation.com/events/" + (i + 1));
+            event.setCheckinCode("AB" + (10 + i % 90));
+            event.setCheckinCodeRequired(true);
+            event.setLessonPlanId((long) random.nextInt(LESSON_PLANS) + 1);
+            event.setLeader((long) random.nextInt(20) + 1);
+            event.setParticipantCount(random.nextInt(30));
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Lesson plan IDs which may be presented.
+     *
+     * @return list of LessonPlan IDs
+     */
+    public static List<Long> lessonPlans() {
+        final List<Long> ids = new ArrayList<>(LESSON_PLANS);
+        for (long id = 1; id <= LESSON_PLANS; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.controller;
+
+import com.starfireaviation.common.model.Event;
+import com.starfireaviation.events.BenchmarkData;
+import com.starfireaviation.events.model.EventEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * EventController.map in both directions, over a page of events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    @Param({ "10", "1000" })
+    private int size;
+
+    private List<EventEntity> entities;
+
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        entities = BenchmarkData.events(size);
+        events = entities.stream().map(EventController::map).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void entityToEvent(final Blackhole blackhole) {
+        for (final EventEntity entity : entities) {
+            blackhole.consume(EventController.map(entity));
+        }
+    }
+
+    @Benchmark
+    public void eventToEntity(final Blackhole blackhole) {
+        for (final Event event : events) {
+            blackhole.consume(EventController.map(event));
+        }
+    }
+}
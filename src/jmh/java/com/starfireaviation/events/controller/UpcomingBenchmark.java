@@ -0,0 +1,71 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.controller;
+
+import com.starfireaviation.common.exception.InvalidPayloadException;
+import com.starfireaviation.common.model.Event;
+import com.starfireaviation.events.BenchmarkData;
+import com.starfireaviation.events.model.EventEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The in-memory part of upcoming(): filtering and sorting happen in the database query, leaving field parsing,
+ * mapping and sparse field selection for a page of MAX_UPCOMING_COUNT events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpcomingBenchmark {
+
+    @Param({ "", "id,title,startTime" })
+    private String fields;
+
+    private List<EventEntity> page;
+
+    @Setup
+    public void setUp() {
+        page = BenchmarkData.events(EventController.MAX_UPCOMING_COUNT);
+    }
+
+    @Benchmark
+    public List<Event> upcoming() throws InvalidPayloadException {
+        final Set<String> selected = EventFields.parse(fields.isEmpty() ? null : fields, null);
+        return page
+                .stream()
+                .map(EventController::map)
+                .map(event -> EventFields.select(event, selected))
+                .collect(Collectors.toList());
+    }
+}
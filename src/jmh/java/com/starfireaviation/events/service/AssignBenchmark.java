@@ -0,0 +1,90 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.events.BenchmarkData;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.VoteEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-event decision made by assign(): the vote tally, and the least-presented fallback over the event history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignBenchmark {
+
+    @Param({ "30", "1000" })
+    private int votes;
+
+    @Param({ "500", "20000" })
+    private int history;
+
+    private List<VoteEntity> voteList;
+
+    private List<EventEntity> events;
+
+    private List<Long> lessonPlans;
+
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        lessonPlans = BenchmarkData.lessonPlans();
+        events = BenchmarkData.events(history);
+        now = LocalDateTime.now();
+        final Random random = new Random(votes);
+        voteList = new ArrayList<>(votes);
+        for (int i = 0; i < votes; i++) {
+            final VoteEntity vote = new VoteEntity();
+            vote.setEventId(1L);
+            vote.setUserId((long) i);
+            vote.setLessonPlanId(lessonPlans.get(random.nextInt(lessonPlans.size())));
+            voteList.add(vote);
+        }
+    }
+
+    @Benchmark
+    public Long tally() {
+        return EventService.tallyVotes(voteList);
+    }
+
+    @Benchmark
+    public Long fallback() {
+        return EventService.leastPresented(EventService.countPresentations(events, now), lessonPlans);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventParticipantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.hazelcast.HazelcastAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventService.isRegistered against EVENT_PARTICIPANT in an in-memory H2 database (MySQL mode) holding a large
+ * registration history spread over many events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private static final int EVENTS = 1000;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({ "10000", "500000" })
+    private int registrations;
+
+    private ConfigurableApplicationContext context;
+
+    private EventService eventService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Config.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--logging.level.root=WARN");
+        eventService = new EventService(null, null, context.getBean(EventParticipantRepository.class), null,
+                null, null, new SimpleMeterRegistry());
+        final JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < registrations; i++) {
+            batch.add(new Object[] { (long) (i % EVENTS), (long) i });
+            if (batch.size() == BATCH_SIZE || i == registrations - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO EVENT_PARTICIPANT (created_at, updated_at, event_id, user_id) "
+                        + "VALUES (CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean registered() {
+        final long userId = ThreadLocalRandom.current().nextInt(registrations);
+        return eventService.isRegistered(userId % EVENTS, userId);
+    }
+
+    @Benchmark
+    public boolean notRegistered() {
+        final long userId = ThreadLocalRandom.current().nextInt(registrations);
+        return eventService.isRegistered((userId + 1) % EVENTS, userId);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = HazelcastAutoConfiguration.class)
+    @EntityScan(basePackageClasses = EventEntity.class)
+    @EnableJpaRepositories(basePackageClasses = EventEntity.class)
+    static class Config {
+    }
+}
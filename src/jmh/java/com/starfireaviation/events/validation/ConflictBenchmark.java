@@ -0,0 +1,150 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.validation;
+
+import com.starfireaviation.common.exception.ConflictException;
+import com.starfireaviation.common.model.Event;
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.model.ConflictScope;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventRepository;
+import com.starfireaviation.events.model.EventSeriesRepository;
+import com.starfireaviation.events.service.SeriesService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.hazelcast.HazelcastAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventValidator.validateSchedule against EVENT in an in-memory H2 database (MySQL mode) holding a large schedule:
+ * on average one event every two hours, led by 50 leaders. With a 30 minute window, roughly 40% of checks conflict
+ * in the GLOBAL scope.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConflictBenchmark {
+
+    private static final int LEADERS = 50;
+
+    private static final long MINUTES_PER_EVENT = 120;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Param({ "10000", "500000" })
+    private int events;
+
+    @Param({ "GLOBAL", "LEADER", "TYPE" })
+    private ConflictScope scope;
+
+    private ConfigurableApplicationContext context;
+
+    private EventValidator eventValidator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Config.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:conflicts;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.starfireaviation.events.validation=ERROR");
+        final EventRepository eventRepository = context.getBean(EventRepository.class);
+        eventValidator = new EventValidator(null, eventRepository,
+                new SeriesService(context.getBean(EventSeriesRepository.class), eventRepository), scope,
+                Duration.ofMinutes(30));
+        final Random random = new Random(events);
+        final EventType[] types = EventType.values();
+        final JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < events; i++) {
+            final LocalDateTime startTime = EPOCH.plusMinutes(random.nextInt((int) (events * MINUTES_PER_EVENT)));
+            batch.add(new Object[] { Timestamp.valueOf(startTime), types[i % types.length].name(),
+                (long) random.nextInt(LEADERS) + 1 });
+            if (batch.size() == BATCH_SIZE || i == events - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO EVENT (version, created_at, updated_at, title, started, "
+                        + "completed, checkin_code_required, private, lesson_plan_id, participant_count, "
+                        + "start_time, type, leader) VALUES (0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'Event', "
+                        + "FALSE, FALSE, FALSE, FALSE, 1, 0, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean validateSchedule() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final Event event = new Event();
+        event.setStartTime(EPOCH.plusMinutes(random.nextLong(events * MINUTES_PER_EVENT)));
+        event.setLead((long) random.nextInt(LEADERS) + 1);
+        event.setEventType(EventType.values()[random.nextInt(EventType.values().length)]);
+        try {
+            eventValidator.validateSchedule(event);
+            return false;
+        } catch (ConflictException ce) {
+            return true;
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = HazelcastAutoConfiguration.class)
+    @EntityScan(basePackageClasses = EventEntity.class)
+    @EnableJpaRepositories(basePackageClasses = EventEntity.class)
+    static class Config {
+    }
+}
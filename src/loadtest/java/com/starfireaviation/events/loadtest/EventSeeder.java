@@ -0,0 +1,69 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.loadtest;
+
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Seeds upcoming public events. Runs before the other ApplicationRunners, so the caches are warmed with them.
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EventSeeder implements ApplicationRunner {
+
+    private final EventRepository eventRepository;
+
+    private final int events;
+
+    private final int capacityPercent;
+
+    public EventSeeder(final EventRepository eventRepository, final int events, final int capacityPercent) {
+        this.eventRepository = eventRepository;
+        this.events = events;
+        this.capacityPercent = capacityPercent;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        final Random random = new Random(events);
+        final EventType[] types = EventType.values();
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < events; i++) {
+            final EventEntity event = new EventEntity();
+            event.setTitle("Load test event " + i);
+            event.setEventType(types[i % types.length]);
+            event.setPrivateEvent(false);
+            event.setStartTime(now.plusHours(1 + random.nextInt(24 * 90)));
+            event.setLeader((long) (1 + random.nextInt(20)) * 50);
+            if (random.nextInt(100) < capacityPercent) {
+                event.setCapacity(10 + random.nextInt(40));
+            }
+            eventRepository.save(event);
+        }
+        log.info("Seeded {} events", events);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.loadtest;
+
+import com.starfireaviation.common.model.Role;
+import com.starfireaviation.common.model.User;
+import com.starfireaviation.events.service.DataService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * In-process stand-in for the users and lessons services with a configurable latency.
+ * Users are derived from their names: "admin-N" and "instructor-N" have those roles, any other "name-N" is a
+ * student, and N is the user ID.
+ */
+public class FakeDataService extends DataService {
+
+    private final long latency;
+
+    private final long jitter;
+
+    private final long lessonPlans;
+
+    public FakeDataService(final long latency, final long jitter, final long lessonPlans) {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.lessonPlans = lessonPlans;
+    }
+
+    @Override
+    public User getUser(final String name) {
+        delay();
+        final User user = new User();
+        user.setId(Long.parseLong(name.substring(name.lastIndexOf('-') + 1)));
+        if (name.startsWith("admin-")) {
+            user.setRole(Role.ADMIN);
+        } else if (name.startsWith("instructor-")) {
+            user.setRole(Role.INSTRUCTOR);
+        } else {
+            user.setRole(Role.STUDENT);
+        }
+        return user;
+    }
+
+    @Override
+    public User getUser(final Long userId) {
+        delay();
+        final User user = new User();
+        user.setId(userId);
+        user.setRole(userId % 50 == 0 ? Role.INSTRUCTOR : Role.STUDENT);
+        return user;
+    }
+
+    @Override
+    public boolean existsLessonPlan(final Long lessonPlanId) {
+        delay();
+        return lessonPlanId != null && lessonPlanId > 0 && lessonPlanId <= lessonPlans;
+    }
+
+    @Override
+    public List<Long> getAllPresentableLessonPlans() {
+        delay();
+        return LongStream.rangeClosed(1, lessonPlans).boxed().collect(Collectors.toList());
+    }
+
+    private void delay() {
+        final long millis = latency + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.loadtest;
+
+import com.starfireaviation.events.EventsApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+
+/**
+ * Starts the application with the loadtest profile, drives it with the WorkloadGenerator and prints throughput
+ * and latency percentiles per operation.
+ * <p>
+ * System properties (defaults in brackets): loadtest.threads [32], loadtest.warmup seconds [15],
+ * loadtest.duration seconds [60], loadtest.mix [get=50,upcoming=25,register=15,vote=9,assign=1], plus any
+ * loadtest.* setting of application-loadtest.yaml (e.g. -Dloadtest.data-service-latency=50 -Dloadtest.events=1000).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(EventsApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        try {
+            final var env = context.getEnvironment();
+            final WorkloadGenerator generator = new WorkloadGenerator(
+                    "http://localhost:" + env.getRequiredProperty("local.server.port"),
+                    WorkloadGenerator.parseMix(
+                            System.getProperty("loadtest.mix", "get=50,upcoming=25,register=15,vote=9,assign=1")),
+                    env.getRequiredProperty("loadtest.events", Integer.class),
+                    env.getRequiredProperty("loadtest.users", Integer.class),
+                    env.getRequiredProperty("loadtest.lesson-plans", Integer.class));
+            generator.run(
+                    Integer.getInteger("loadtest.threads", 32),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup", 15)),
+                    Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                    System.out);
+        } finally {
+            context.close();
+        }
+    }
+}
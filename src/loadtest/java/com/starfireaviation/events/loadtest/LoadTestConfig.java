@@ -0,0 +1,90 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.loadtest;
+
+import com.starfireaviation.events.model.EventRepository;
+import com.starfireaviation.events.service.DataService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Load test wiring: a fake DataService, a principal taken from the X-User header, and seeded events.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    /**
+     * Header carrying the user name of the caller.
+     */
+    public static final String USER_HEADER = "X-User";
+
+    @Bean
+    @Primary
+    public DataService fakeDataService(@Value("${loadtest.data-service-latency}") final long latency,
+                                       @Value("${loadtest.data-service-jitter}") final long jitter,
+                                       @Value("${loadtest.lesson-plans}") final long lessonPlans) {
+        return new FakeDataService(latency, jitter, lessonPlans);
+    }
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> principalFilter() {
+        final FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(
+                new OncePerRequestFilter() {
+                    @Override
+                    protected void doFilterInternal(final HttpServletRequest request,
+                                                    final HttpServletResponse response,
+                                                    final FilterChain chain) throws ServletException, IOException {
+                        final String user = request.getHeader(USER_HEADER);
+                        if (user == null) {
+                            chain.doFilter(request, response);
+                            return;
+                        }
+                        final Principal principal = () -> user;
+                        chain.doFilter(new HttpServletRequestWrapper(request) {
+                            @Override
+                            public Principal getUserPrincipal() {
+                                return principal;
+                            }
+                        }, response);
+                    }
+                });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public EventSeeder eventSeeder(final EventRepository eventRepository,
+                                   @Value("${loadtest.events}") final int events,
+                                   @Value("${loadtest.capacity}") final int capacityPercent) {
+        return new EventSeeder(eventRepository, events, capacityPercent);
+    }
+}
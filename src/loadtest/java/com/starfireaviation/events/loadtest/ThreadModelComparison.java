@@ -0,0 +1,72 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.loadtest;
+
+import com.starfireaviation.events.EventsApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+
+/**
+ * Compares the Tomcat platform thread pool with virtual threads (events.virtual-threads) under high concurrency.
+ * Starts the application with the loadtest profile once per thread model, each time against a fresh embedded
+ * database behind the Hikari pool and the fake DataService, and drives the real endpoints with the WorkloadGenerator.
+ * <p>
+ * System properties (defaults in brackets): loadtest.threads [1000], loadtest.warmup seconds [15],
+ * loadtest.duration seconds [60], loadtest.mix [get=50,upcoming=25,register=15,vote=9,assign=1], plus any
+ * loadtest.* setting of application-loadtest.yaml.
+ */
+public final class ThreadModelComparison {
+
+    private ThreadModelComparison() {
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        run(false);
+        run(true);
+    }
+
+    private static void run(final boolean virtualThreads) throws InterruptedException {
+        final String model = virtualThreads ? "virtual" : "platform";
+        final ConfigurableApplicationContext context = new SpringApplicationBuilder(EventsApplication.class)
+                .profiles("loadtest")
+                .run("--events.virtual-threads=" + virtualThreads,
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:events-" + model
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=30000");
+        try {
+            final var env = context.getEnvironment();
+            final WorkloadGenerator generator = new WorkloadGenerator(
+                    "http://localhost:" + env.getRequiredProperty("local.server.port"),
+                    WorkloadGenerator.parseMix(
+                            System.getProperty("loadtest.mix", "get=50,upcoming=25,register=15,vote=9,assign=1")),
+                    env.getRequiredProperty("loadtest.events", Integer.class),
+                    env.getRequiredProperty("loadtest.users", Integer.class),
+                    env.getRequiredProperty("loadtest.lesson-plans", Integer.class));
+            System.out.printf("%n%s threads (Hikari pool of %s)%n", model,
+                    env.getProperty("spring.datasource.hikari.maximum-pool-size"));
+            generator.run(
+                    Integer.getInteger("loadtest.threads", 1000),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup", 15)),
+                    Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                    System.out);
+        } finally {
+            context.close();
+        }
+    }
+}
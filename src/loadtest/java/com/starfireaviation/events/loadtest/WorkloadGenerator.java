@@ -0,0 +1,208 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.loadtest;
+
+import com.starfireaviation.common.model.EventType;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop workload generator. Each worker thread repeatedly picks an operation according to the configured mix,
+ * issues it and records its latency; operations completed during the warm-up are not recorded.
+ */
+public class WorkloadGenerator {
+
+    /**
+     * Operations in the workload.
+     */
+    public enum Operation {
+        GET, UPCOMING, REGISTER, VOTE, ASSIGN
+    }
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private final String baseUrl;
+
+    private final Map<Operation, Integer> mix;
+
+    private final int totalWeight;
+
+    private final int events;
+
+    private final int users;
+
+    private final int lessonPlans;
+
+    private volatile boolean recording;
+
+    public WorkloadGenerator(final String baseUrl, final Map<Operation, Integer> mix, final int events,
+                             final int users, final int lessonPlans) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.events = events;
+        this.users = users;
+        this.lessonPlans = lessonPlans;
+        for (final Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Parses a mix such as "get=50,upcoming=25,register=15,vote=9,assign=1".
+     *
+     * @param spec mix specification
+     * @return weight per Operation
+     */
+    public static Map<Operation, Integer> parseMix(final String spec) {
+        final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (final String part : spec.split(",")) {
+            final String[] kv = part.trim().split("=");
+            mix.put(Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    /**
+     * Runs the workload and prints a report.
+     *
+     * @param threads concurrent workers
+     * @param warmup warm-up duration
+     * @param duration measured duration
+     * @param out report destination
+     * @throws InterruptedException when interrupted
+     */
+    public void run(final int threads, final Duration warmup, final Duration duration, final PrintStream out)
+            throws InterruptedException {
+        final long end = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+        final ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < end) {
+                    execute(next());
+                }
+            });
+        }
+        Thread.sleep(warmup.toMillis());
+        recording = true;
+        workers.shutdown();
+        workers.awaitTermination(duration.toMillis() + MAX_LATENCY_MICROS / 1000, TimeUnit.MILLISECONDS);
+        report(duration, out);
+    }
+
+    private Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (final Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private void execute(final Operation operation) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long eventId = 1 + random.nextInt(events);
+        final long userId = 1 + random.nextInt(users);
+        final String student = "student-" + userId;
+        final HttpRequest request = switch (operation) {
+            case GET -> get("/api/events/" + eventId, student);
+            case UPCOMING -> get("/api/events/upcoming/" + EventType.values()[random.nextInt(EventType.values().length)]
+                    + "/" + (1 + random.nextInt(10)), student);
+            case REGISTER -> post("/api/events/" + eventId + "/register/" + userId, student);
+            case VOTE -> post("/api/events/" + eventId + "/vote/" + userId + "/" + (1 + random.nextInt(lessonPlans)),
+                    student);
+            case ASSIGN -> post("/api/events/assign", "admin-1");
+        };
+        final long start = System.nanoTime();
+        boolean failed;
+        try {
+            final HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (Exception e) {
+            failed = true;
+        }
+        if (recording) {
+            final long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            latencies.get(operation).recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            if (failed) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private HttpRequest get(final String path, final String user) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header(LoadTestConfig.USER_HEADER, user).GET()
+                .build();
+    }
+
+    private HttpRequest post(final String path, final String user) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header(LoadTestConfig.USER_HEADER, user)
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private void report(final Duration duration, final PrintStream out) {
+        final double seconds = duration.toMillis() / 1000.0;
+        out.printf("%-10s %10s %10s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        final Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        for (final Operation operation : Operation.values()) {
+            final Histogram histogram = latencies.get(operation);
+            total.add(histogram);
+            totalErrors += errors.get(operation).sum();
+            line(out, operation.name().toLowerCase(), histogram, errors.get(operation).sum(), seconds);
+        }
+        line(out, "total", total, totalErrors, seconds);
+    }
+
+    private static void line(final PrintStream out, final String name, final Histogram histogram, final long errors,
+                             final double seconds) {
+        out.printf("%-10s %10d %10.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                errors,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
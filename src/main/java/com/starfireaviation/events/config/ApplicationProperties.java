@@ -16,6 +16,7 @@
 
 package com.starfireaviation.events.config;
 
+import com.starfireaviation.events.model.ConflictScope;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -37,4 +38,109 @@ public class ApplicationProperties {
      * Connect Timeout.
      */
     private int connectTimeout;
+
+    /**
+     * Run request handling and outbound HTTP calls on virtual threads.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * Users service base URL.
+     */
+    private String usersUrl;
+
+    /**
+     * Lessons service base URL.
+     */
+    private String lessonsUrl;
+
+    /**
+     * R2DBC URL used by the reactive profile.
+     */
+    private String r2dbcUrl;
+
+    /**
+     * Fan-out executor thread count.
+     */
+    private int fanOutPoolSize;
+
+    /**
+     * Fan-out executor queue capacity; requests beyond it are rejected.
+     */
+    private int fanOutQueueCapacity;
+
+    /**
+     * Fan-out operation timeout (milliseconds).
+     */
+    private long fanOutTimeout;
+
+    /**
+     * Interval at which the whole vote tally is rebuilt from VOTE (milliseconds).
+     */
+    private long voteTallyRebuildInterval;
+
+    /**
+     * Initial slow query threshold (milliseconds); negative disables slow query logging.
+     */
+    private long slowQueryThreshold;
+
+    /**
+     * Events against which new and updated events are checked for scheduling conflicts.
+     */
+    private ConflictScope conflictScope;
+
+    /**
+     * Events starting within this window of each other conflict (milliseconds).
+     */
+    private long conflictWindow;
+
+    /**
+     * Exit once the application is ready and has served its first request; used by the AppCDS training run.
+     */
+    private boolean exitWhenReady;
+
+    /**
+     * Read replica; read-only transactions are routed to it when a URL is configured.
+     */
+    private Replica replica = new Replica();
+
+    /**
+     * Read replica properties.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /**
+         * JDBC URL.
+         */
+        private String url;
+
+        /**
+         * User name.
+         */
+        private String username;
+
+        /**
+         * Password.
+         */
+        private String password;
+
+        /**
+         * Query returning the replica's lag behind the primary in seconds, either as the first column or as a
+         * Seconds_Behind_Source column (as returned by SHOW REPLICA STATUS). No row or a NULL lag means that the
+         * replica is not replicating.
+         */
+        private String lagQuery;
+
+        /**
+         * Maximum tolerated lag (seconds); beyond it reads are served by the primary.
+         */
+        private long maxLag;
+
+        /**
+         * Interval at which the lag is checked (milliseconds).
+         */
+        private long lagCheckInterval;
+    }
 }
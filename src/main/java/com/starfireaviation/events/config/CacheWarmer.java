@@ -0,0 +1,130 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.starfireaviation.common.model.Event;
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.controller.EventController;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventSummary;
+import com.starfireaviation.events.service.EventService;
+import com.starfireaviation.events.service.SeriesService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * CacheWarmer - preloads the EventController caches at startup.
+ * Spring Boot only reports the application as ready (readiness probe) once all ApplicationRunners have completed,
+ * so a pod receives no traffic until upcoming events of every EventType (in both the full and summary projections,
+ * which serve requests for any count) and events in progress are cached.
+ */
+@Slf4j
+@Component
+public class CacheWarmer implements ApplicationRunner {
+
+    /**
+     * EventService.
+     */
+    private final EventService eventService;
+
+    /**
+     * SeriesService.
+     */
+    private final SeriesService seriesService;
+
+    /**
+     * Events cache.
+     */
+    private final IMap<Long, Event> cache;
+
+    /**
+     * Upcoming Events cache.
+     */
+    private final IMap<String, List<Event>> upcomingCache;
+
+    /**
+     * CacheWarmer.
+     *
+     * @param eService EventService
+     * @param sService SeriesService
+     * @param hazelcastInstance HazelcastInstance
+     */
+    public CacheWarmer(final EventService eService,
+                       final SeriesService sService,
+                       @Qualifier("events") final HazelcastInstance hazelcastInstance) {
+        eventService = eService;
+        seriesService = sService;
+        cache = hazelcastInstance.getMap("events");
+        upcomingCache = hazelcastInstance.getMap("upcomingEvents");
+    }
+
+    /**
+     * Warms the caches. Failures are logged rather than thrown; the affected entries are loaded on first request.
+     *
+     * @param args ApplicationArguments
+     */
+    @Override
+    public void run(final ApplicationArguments args) {
+        final long start = System.currentTimeMillis();
+        int warmed = 0;
+        for (final EventType type : EventType.values()) {
+            try {
+                final List<Event> occurrences = seriesService
+                        .getUpcoming(type, LocalDateTime.now(), EventController.MAX_UPCOMING_COUNT)
+                        .stream()
+                        .map(EventController::map)
+                        .collect(Collectors.toList());
+                final List<Event> upcoming = eventService
+                        .getUpcoming(type, EventController.MAX_UPCOMING_COUNT, EventEntity.class)
+                        .stream()
+                        .map(EventController::map)
+                        .collect(Collectors.toList());
+                upcomingCache.set(EventController.getKey(type, false), SeriesService.merge(upcoming, occurrences,
+                        Event::getStartTime, EventController.MAX_UPCOMING_COUNT));
+                upcoming.forEach(event -> cache.set(event.getId(), event));
+                upcomingCache.set(EventController.getKey(type, true), SeriesService.merge(
+                        eventService
+                                .getUpcoming(type, EventController.MAX_UPCOMING_COUNT, EventSummary.class)
+                                .stream()
+                                .map(EventController::map)
+                                .collect(Collectors.toList()),
+                        occurrences, Event::getStartTime, EventController.MAX_UPCOMING_COUNT));
+                warmed += upcoming.size();
+            } catch (RuntimeException re) {
+                log.warn("Unable to warm upcoming {} events: {}", type, re.getMessage());
+            }
+        }
+        try {
+            for (final EventEntity entity : eventService.getInProgress()) {
+                cache.set(entity.getId(), EventController.map(entity));
+                warmed++;
+            }
+        } catch (RuntimeException re) {
+            log.warn("Unable to warm events in progress: {}", re.getMessage());
+        }
+        log.info("Warmed caches with {} events in {}ms", warmed, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSourceConfig - replaces the auto-configured DataSource with one which routes read-only transactions to a read
+ * replica, when events.replica.url is set.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "events.replica", name = "url")
+public class DataSourceConfig {
+
+    /**
+     * ReplicaRouter over a primary pool configured by spring.datasource.* and a read-only replica pool configured by
+     * events.replica.*.
+     *
+     * @param dsProperties DataSourceProperties
+     * @param props ApplicationProperties
+     * @param environment Environment
+     * @param registry MeterRegistry
+     * @return ReplicaRouter
+     */
+    @Bean
+    public ReplicaRouter replicaRouter(final DataSourceProperties dsProperties,
+                                       final ApplicationProperties props,
+                                       final Environment environment,
+                                       final MeterRegistry registry) {
+        final HikariDataSource primary = dsProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricRegistry(registry);
+
+        final ApplicationProperties.Replica replicaProperties = props.getReplica();
+        final HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaProperties.getUrl())
+                .username(replicaProperties.getUsername())
+                .password(replicaProperties.getPassword())
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        replica.setMetricRegistry(registry);
+
+        log.info("Routing read-only transactions to replica {}", replicaProperties.getUrl());
+        return new ReplicaRouter(primary, replica, replicaProperties.getLagQuery(), replicaProperties.getMaxLag());
+    }
+
+    /**
+     * DataSource. The lazy proxy defers obtaining a connection until the first statement, by which point the
+     * transaction's read-only flag is known to the router.
+     *
+     * @param router ReplicaRouter
+     * @return DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(final ReplicaRouter router) {
+        return new LazyConnectionDataSourceProxy(router.getDataSource());
+    }
+
+}
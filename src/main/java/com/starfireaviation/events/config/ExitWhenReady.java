@@ -0,0 +1,87 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * ExitWhenReady - serves one request to the application itself once it is ready, then exits. This is the AppCDS
+ * training run of the cds build profile: the JVM archives every class loaded up to and including the first request
+ * when it exits.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "events", name = "exit-when-ready", havingValue = "true")
+public class ExitWhenReady implements ApplicationListener<ApplicationReadyEvent> {
+
+    /**
+     * Path requested before exiting; the same as the startup probe's.
+     */
+    private static final String PATH = "/actuator/health/liveness";
+
+    /**
+     * HttpClient.
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * ExitWhenReady.
+     *
+     * @param client HttpClient
+     */
+    public ExitWhenReady(final HttpClient client) {
+        httpClient = client;
+    }
+
+    /**
+     * Requests PATH and exits.
+     *
+     * @param event ApplicationReadyEvent
+     */
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        final ConfigurableApplicationContext context = event.getApplicationContext();
+        if (context instanceof WebServerApplicationContext) {
+            final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            try {
+                final HttpResponse<Void> response = httpClient.send(
+                        HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                log.info("GET {} returned {}", PATH, response.statusCode());
+            } catch (IOException e) {
+                log.warn("GET {} failed: {}", PATH, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("Exiting after startup");
+        System.exit(SpringApplication.exit(context));
+    }
+}
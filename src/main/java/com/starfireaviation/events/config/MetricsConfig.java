@@ -0,0 +1,83 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.HazelcastCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MetricsConfig.
+ * Request latency (http.server.requests), connection pool (hikaricp.*) and executor (executor.*) metrics are bound
+ * by Spring Boot; the beans here add cache metrics and support for @Timed.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enables @Timed on beans such as DataService.
+     *
+     * @param registry MeterRegistry
+     * @return TimedAspect
+     */
+    @Bean
+    public TimedAspect timedAspect(final MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Hit, miss and eviction counts for the "events" and "upcomingEvents" IMaps.
+     *
+     * @param hazelcastInstance HazelcastInstance
+     * @return MeterBinder
+     */
+    @Bean
+    public MeterBinder eventsCacheMetrics(@Qualifier("events") final HazelcastInstance hazelcastInstance) {
+        return registry -> {
+            bind(registry, hazelcastInstance.getMap("events"));
+            bind(registry, hazelcastInstance.getMap("upcomingEvents"));
+        };
+    }
+
+    /**
+     * Binds metrics for an IMap. HazelcastCacheMetrics does not report evictions, so they are added here along
+     * with expirations (entries removed by TTL or max idle).
+     *
+     * @param registry MeterRegistry
+     * @param map IMap
+     */
+    private static void bind(final MeterRegistry registry, final IMap<?, ?> map) {
+        final Tags tags = Tags.of("cache", map.getName());
+        HazelcastCacheMetrics.monitor(registry, map);
+        FunctionCounter.builder("cache.evictions", map, m -> m.getLocalMapStats().getEvictionCount())
+                .tags(tags)
+                .description("The number of times the cache was evicted")
+                .register(registry);
+        FunctionCounter.builder("cache.expirations", map, m -> m.getLocalMapStats().getExpirationCount())
+                .tags(tags)
+                .description("The number of entries removed from the cache on expiry")
+                .register(registry);
+    }
+}
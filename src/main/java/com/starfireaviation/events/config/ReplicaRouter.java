@@ -0,0 +1,222 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * ReplicaRouter - routes read-only transactions to a read replica and everything else to the primary.
+ * Reads fall back to the primary while the replica lags by more than the tolerated amount, cannot report its lag,
+ * or cannot hand out a connection. The routing DataSource must be wrapped in a LazyConnectionDataSourceProxy, so
+ * the connection is only obtained once the transaction's read-only flag is known.
+ */
+@Slf4j
+public class ReplicaRouter {
+
+    /**
+     * Routing keys.
+     */
+    enum Route {
+        /**
+         * Primary.
+         */
+        PRIMARY,
+        /**
+         * Replica.
+         */
+        REPLICA
+    }
+
+    /**
+     * Lag column of SHOW REPLICA STATUS.
+     */
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    /**
+     * Primary DataSource.
+     */
+    private final DataSource primary;
+
+    /**
+     * Replica DataSource.
+     */
+    private final DataSource replica;
+
+    /**
+     * Query returning the replica lag (seconds).
+     */
+    private final String lagQuery;
+
+    /**
+     * Maximum tolerated lag (seconds).
+     */
+    private final long maxLag;
+
+    /**
+     * Routing DataSource.
+     */
+    private final RoutingDataSource routingDataSource = new RoutingDataSource();
+
+    /**
+     * Is the replica currently used for reads?
+     */
+    private volatile boolean replicaAvailable;
+
+    /**
+     * ReplicaRouter.
+     *
+     * @param primaryDataSource primary DataSource
+     * @param replicaDataSource replica DataSource
+     * @param replicaLagQuery query returning the replica lag (seconds)
+     * @param maxReplicaLag maximum tolerated lag (seconds)
+     */
+    public ReplicaRouter(final DataSource primaryDataSource,
+                         final DataSource replicaDataSource,
+                         final String replicaLagQuery,
+                         final long maxReplicaLag) {
+        primary = primaryDataSource;
+        replica = replicaDataSource;
+        lagQuery = replicaLagQuery;
+        maxLag = maxReplicaLag;
+        routingDataSource.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    /**
+     * Gets the routing DataSource.
+     *
+     * @return DataSource
+     */
+    public DataSource getDataSource() {
+        return routingDataSource;
+    }
+
+    /**
+     * Is the replica currently used for reads?
+     *
+     * @return replica available
+     */
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    /**
+     * Checks the replica lag, and routes reads to the replica only while it is within the tolerated lag.
+     */
+    @Scheduled(fixedDelayString = "${events.replica.lag-check-interval}")
+    public void checkLag() {
+        Long lag = null;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (resultSet.next()) {
+                lag = readLag(resultSet);
+            }
+        } catch (SQLException e) {
+            log.debug("Unable to determine replica lag: {}", e.getMessage());
+        }
+        final boolean available = lag != null && lag <= maxLag;
+        if (available && !replicaAvailable) {
+            log.info("Routing read-only transactions to the replica (replica lag: {}s)", lag);
+        } else if (!available && replicaAvailable) {
+            log.warn("Routing read-only transactions to the primary (replica lag: {}s)", lag);
+        }
+        replicaAvailable = available;
+    }
+
+    /**
+     * Closes the connection pools.
+     *
+     * @throws IOException when a pool cannot be closed
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        for (final DataSource dataSource : new DataSource[] {replica, primary}) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+
+    /**
+     * Reads the lag from the current row.
+     *
+     * @param resultSet ResultSet
+     * @return lag (seconds), or null when the replica is not replicating
+     * @throws SQLException when the lag cannot be read
+     */
+    private static Long readLag(final ResultSet resultSet) throws SQLException {
+        int column = 1;
+        for (int i = 1; i <= resultSet.getMetaData().getColumnCount(); i++) {
+            if (LAG_COLUMN.equalsIgnoreCase(resultSet.getMetaData().getColumnLabel(i))) {
+                column = i;
+            }
+        }
+        final long lag = resultSet.getLong(column);
+        if (resultSet.wasNull()) {
+            return null;
+        }
+        return lag;
+    }
+
+    /**
+     * Routes by the read-only flag of the current transaction, falling back to the primary when the replica cannot
+     * hand out a connection.
+     */
+    private final class RoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return Route.REPLICA;
+            }
+            return Route.PRIMARY;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (determineCurrentLookupKey() == Route.REPLICA) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    log.warn("Replica unavailable, routing reads to the primary: {}", e.getMessage());
+                    replicaAvailable = false;
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(final String username, final String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
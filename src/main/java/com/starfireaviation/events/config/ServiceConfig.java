@@ -24,26 +24,42 @@ import com.hazelcast.core.HazelcastInstance;
 import com.starfireaviation.common.CommonConstants;
 import com.starfireaviation.events.model.EventParticipantRepository;
 import com.starfireaviation.events.model.EventRepository;
+import com.starfireaviation.events.model.EventSeriesRepository;
+import com.starfireaviation.events.model.EventWaitlistRepository;
 import com.starfireaviation.events.model.VoteRepository;
+import com.starfireaviation.events.service.CalendarService;
+import com.starfireaviation.events.service.CheckinService;
 import com.starfireaviation.events.service.DataService;
 import com.starfireaviation.events.service.EventService;
+import com.starfireaviation.events.service.SeriesService;
+import com.starfireaviation.events.service.VoteTally;
 import com.starfireaviation.events.validation.EventValidator;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executors;
 
 /**
  * ServiceConfig.
  */
 @Slf4j
 @Configuration
+@EnableScheduling
 @EnableConfigurationProperties({ ApplicationProperties.class })
 public class ServiceConfig {
 
@@ -53,26 +69,61 @@ public class ServiceConfig {
      * @param eRepository EventRepository
      * @param vRepository VoteRepository
      * @param epRepository EventParticipantRepository
+     * @param ewRepository EventWaitlistRepository
      * @param dService DataService
+     * @param tally VoteTally
+     * @param registry MeterRegistry
      * @return EventService
      */
     @Bean
     public EventService eventService(final EventRepository eRepository,
                                      final VoteRepository vRepository,
                                      final EventParticipantRepository epRepository,
-                                     final DataService dService) {
-        return new EventService(eRepository, vRepository, epRepository, dService);
+                                     final EventWaitlistRepository ewRepository,
+                                     final DataService dService,
+                                     final VoteTally tally,
+                                     final MeterRegistry registry) {
+        return new EventService(eRepository, vRepository, epRepository, ewRepository, dService, tally, registry);
+    }
+
+    /**
+     * VoteTally.
+     *
+     * @param vRepository VoteRepository
+     * @return VoteTally
+     */
+    @Bean
+    public VoteTally voteTally(final VoteRepository vRepository) {
+        return new VoteTally(vRepository);
     }
 
 
     /**
      * HttpClient.
      *
+     * @param props ApplicationProperties
      * @return HttpClient
      */
     @Bean
-    public HttpClient httpClient() {
-        return HttpClient.newHttpClient();
+    public HttpClient httpClient(final ApplicationProperties props) {
+        final HttpClient.Builder builder = HttpClient.newBuilder();
+        if (props.isVirtualThreads()) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Runs Tomcat request handling on virtual threads, one per request, instead of the bounded platform thread
+     * pool. Note: concurrent database work remains bounded by the Hikari pool size.
+     *
+     * @return TomcatProtocolHandlerCustomizer
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "events", name = "virtual-threads", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Handling requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
     }
 
     /**
@@ -106,29 +157,112 @@ public class ServiceConfig {
                 .build();
     }
 
+    /**
+     * Executor for endpoints which fan out to DataService. Its metrics are published as executor.* tagged
+     * name=fanOut.
+     *
+     * @param props ApplicationProperties
+     * @return ThreadPoolTaskExecutor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor fanOutExecutor(final ApplicationProperties props) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("fan-out-");
+        executor.setCorePoolSize(props.getFanOutPoolSize());
+        executor.setMaxPoolSize(props.getFanOutPoolSize());
+        executor.setQueueCapacity(props.getFanOutQueueCapacity());
+        return executor;
+    }
+
+    /**
+     * CheckinService.
+     *
+     * @param eRepository EventRepository
+     * @param jdbcTemplate JdbcTemplate
+     * @param hazelcastInstance HazelcastInstance
+     * @return CheckinService
+     */
+    @Bean
+    public CheckinService checkinService(final EventRepository eRepository,
+                                         final JdbcTemplate jdbcTemplate,
+                                         @Qualifier("events") final HazelcastInstance hazelcastInstance) {
+        return new CheckinService(eRepository, jdbcTemplate, hazelcastInstance.getMap("checkinCodes"));
+    }
+
+    /**
+     * CalendarService.
+     *
+     * @param eService EventService
+     * @param sService SeriesService
+     * @param hazelcastInstance HazelcastInstance
+     * @return CalendarService
+     */
+    @Bean
+    public CalendarService calendarService(final EventService eService,
+                                           final SeriesService sService,
+                                           @Qualifier("events") final HazelcastInstance hazelcastInstance) {
+        return new CalendarService(eService, sService, hazelcastInstance.getMap("calendarFeeds"));
+    }
+
+    /**
+     * SeriesService.
+     *
+     * @param esRepository EventSeriesRepository
+     * @param eRepository EventRepository
+     * @return SeriesService
+     */
+    @Bean
+    public SeriesService seriesService(final EventSeriesRepository esRepository, final EventRepository eRepository) {
+        return new SeriesService(esRepository, eRepository);
+    }
+
     /**
      * EventValidator.
      *
      * @param dService DataService
+     * @param eRepository EventRepository
+     * @param sService SeriesService
+     * @param props ApplicationProperties
      * @return EventValidator
      */
     @Bean
-    public EventValidator eventValidator(final DataService dService) {
-        return new EventValidator(dService);
+    public EventValidator eventValidator(final DataService dService,
+                                         final EventRepository eRepository,
+                                         final SeriesService sService,
+                                         final ApplicationProperties props) {
+        return new EventValidator(dService, eRepository, sService, props.getConflictScope(),
+                Duration.ofMillis(props.getConflictWindow()));
     }
 
     /**
-     * Hazelcast Events Instance.
+     * Hazelcast Events Instance. Also the region provider of the Hibernate second-level cache, which looks it up by
+     * instance name.
      *
      * @return HazelcastInstance
      */
     @Bean("events")
     public HazelcastInstance hazelcastQuestionsInstance() {
         return Hazelcast.newHazelcastInstance(
-                new Config().addMapConfig(
-                        new MapConfig("events")
+                new Config().setInstanceName("events")
+                        .addMapConfig(new MapConfig("events")
                                 .setTimeToLiveSeconds(CommonConstants.THREE_HUNDRED)
-                                .setMaxIdleSeconds(CommonConstants.THREE_HUNDRED)));
+                                .setMaxIdleSeconds(CommonConstants.THREE_HUNDRED))
+                        // Bounds how long upcoming lists show events which have since started, or stale counts
+                        .addMapConfig(new MapConfig("upcomingEvents")
+                                .setTimeToLiveSeconds(CommonConstants.THREE_HUNDRED))
+                        // Bounds how long a feed lists events which have since started
+                        .addMapConfig(new MapConfig("calendarFeeds")
+                                .setTimeToLiveSeconds(CommonConstants.THREE_HUNDRED)));
+    }
+
+    /**
+     * Makes the EntityManagerFactory wait for the Hazelcast instance backing the second-level cache.
+     *
+     * @return EntityManagerFactoryDependsOnPostProcessor
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor hazelcastEntityManagerFactoryDependsOn() {
+        return new EntityManagerFactoryDependsOnPostProcessor("events");
     }
 
 }
@@ -0,0 +1,174 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlowQueryLog - logs SQL statements which take longer than a threshold to execute.
+ * Every DataSource is wrapped so statement executions are timed, whether issued by Hibernate or JdbcTemplate. The
+ * threshold (events.slow-query-threshold, milliseconds; negative disables logging) can be changed at runtime
+ * through the slowqueries actuator endpoint, e.g. POST /actuator/slowqueries {"thresholdMillis": 100}.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryLog implements BeanPostProcessor, EnvironmentAware {
+
+    /**
+     * Slow query threshold (milliseconds).
+     */
+    private volatile long threshold;
+
+    /**
+     * Reads the initial threshold.
+     *
+     * @param environment Environment
+     */
+    @Override
+    public void setEnvironment(final Environment environment) {
+        threshold = environment.getProperty("events.slow-query-threshold", Long.class, -1L);
+    }
+
+    /**
+     * Gets the current threshold.
+     *
+     * @return threshold (milliseconds)
+     */
+    @ReadOperation
+    public Map<String, Long> threshold() {
+        return Map.of("thresholdMillis", threshold);
+    }
+
+    /**
+     * Sets the threshold.
+     *
+     * @param thresholdMillis threshold (milliseconds); negative disables logging
+     */
+    @WriteOperation
+    public void setThreshold(final long thresholdMillis) {
+        log.info("Slow query threshold changed from {}ms to {}ms", threshold, thresholdMillis);
+        threshold = thresholdMillis;
+    }
+
+    /**
+     * Wraps DataSources.
+     *
+     * @param bean bean
+     * @param beanName bean name
+     * @return bean, or its timing proxy
+     */
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof DataSource) {
+            return proxy(bean, ClassUtils.getAllInterfaces(bean), null);
+        }
+        return bean;
+    }
+
+    /**
+     * Creates a proxy which wraps connections and statements created by the target, and times executions.
+     *
+     * @param target DataSource, Connection or Statement
+     * @param interfaces interfaces to proxy
+     * @param sql SQL of a prepared statement, otherwise null
+     * @return proxy
+     */
+    private Object proxy(final Object target, final Class<?>[] interfaces, final String sql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), interfaces, (proxy, method, args) -> {
+            final String name = method.getName();
+            if (target instanceof Statement && name.startsWith("execute") && threshold >= 0) {
+                final long start = System.nanoTime();
+                try {
+                    return invoke(target, method, args);
+                } finally {
+                    final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (elapsedMillis >= threshold) {
+                        log.warn("Slow query ({}ms): {}", elapsedMillis, statementSql(sql, args));
+                    }
+                }
+            }
+            final Object result = invoke(target, method, args);
+            if (target instanceof DataSource && name.equals("getConnection")) {
+                return proxy(result, new Class<?>[] {Connection.class}, null);
+            }
+            if (target instanceof Connection && name.equals("createStatement")) {
+                return proxy(result, new Class<?>[] {Statement.class}, null);
+            }
+            if (target instanceof Connection && name.equals("prepareStatement")) {
+                return proxy(result, new Class<?>[] {PreparedStatement.class}, (String) args[0]);
+            }
+            if (target instanceof Connection && name.equals("prepareCall")) {
+                return proxy(result, new Class<?>[] {CallableStatement.class}, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Determines the SQL of an execution.
+     *
+     * @param sql SQL of a prepared statement, otherwise null
+     * @param args execute arguments
+     * @return SQL
+     */
+    private static String statementSql(final String sql, final Object[] args) {
+        if (sql != null) {
+            return sql;
+        }
+        if (args != null && args.length > 0 && args[0] instanceof String) {
+            return (String) args[0];
+        }
+        return "batch";
+    }
+
+    /**
+     * Invokes a method on the target, rethrowing the exception it throws.
+     *
+     * @param target target
+     * @param method Method
+     * @param args arguments
+     * @return result
+     * @throws Throwable thrown by the method
+     */
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.controller;
+
+import com.starfireaviation.common.exception.AccessDeniedException;
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.service.CalendarService;
+import com.starfireaviation.events.validation.EventValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.security.Principal;
+
+/**
+ * CalendarController - iCalendar feeds of upcoming events for calendar clients.
+ * Responses carry an ETag; a poll whose If-None-Match matches it is answered 304 Not Modified without a body.
+ */
+@Slf4j
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@RestController
+@RequestMapping({ "/api/events/calendar" })
+public class CalendarController {
+
+    /**
+     * iCalendar media type.
+     */
+    public static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar");
+
+    /**
+     * CalendarService.
+     */
+    private final CalendarService calendarService;
+
+    /**
+     * EventValidator.
+     */
+    private final EventValidator eventValidator;
+
+    /**
+     * CalendarController.
+     *
+     * @param calService CalendarService
+     * @param eValidator EventValidator
+     */
+    public CalendarController(final CalendarService calService, final EventValidator eValidator) {
+        calendarService = calService;
+        eventValidator = eValidator;
+    }
+
+    /**
+     * Gets the feed of upcoming public events of a type.
+     *
+     * @param type    EventType
+     * @param request WebRequest
+     * @return iCalendar, or null when not modified
+     */
+    @GetMapping(path = { "/{type}.ics" })
+    public ResponseEntity<byte[]> typeFeed(@PathVariable("type") final EventType type, final WebRequest request) {
+        return respond(calendarService.getTypeFeed(type), request);
+    }
+
+    /**
+     * Gets the feed of upcoming events a user leads or participates in.
+     *
+     * @param userId    User ID
+     * @param request   WebRequest
+     * @param principal Principal
+     * @return iCalendar, or null when not modified
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     */
+    @GetMapping(path = { "/user/{userId}.ics" })
+    public ResponseEntity<byte[]> userFeed(@PathVariable("userId") final Long userId,
+                                           final WebRequest request,
+                                           final Principal principal) throws AccessDeniedException {
+        eventValidator.accessAdminInstructorOrSpecificUser(userId, principal);
+        return respond(calendarService.getUserFeed(userId), request);
+    }
+
+    /**
+     * Responds with a feed, or with 304 Not Modified when the client's copy is current.
+     *
+     * @param feed    Feed
+     * @param request WebRequest
+     * @return iCalendar, or null when not modified
+     */
+    private static ResponseEntity<byte[]> respond(final CalendarService.Feed feed, final WebRequest request) {
+        if (request.checkNotModified(feed.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok().contentType(TEXT_CALENDAR).eTag(feed.getEtag()).body(feed.getBody());
+    }
+}
@@ -24,30 +24,60 @@ import com.starfireaviation.common.exception.InvalidPayloadException;
 import com.starfireaviation.common.exception.ResourceNotFoundException;
 import com.starfireaviation.common.model.Event;
 import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.config.ApplicationProperties;
 import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventSummary;
+import com.starfireaviation.events.model.RegistrationStatus;
+import com.starfireaviation.events.service.CalendarService;
+import com.starfireaviation.events.service.CheckinService;
 import com.starfireaviation.events.service.EventService;
+import com.starfireaviation.events.service.SeriesService;
 import com.starfireaviation.events.validation.EventValidator;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.security.Principal;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * EventController.
  */
+@Slf4j
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 @RestController
 @RequestMapping({ "/api/events" })
@@ -58,6 +88,21 @@ public class EventController {
      */
     public static final int MAX_UPCOMING_COUNT = 10;
 
+    /**
+     * MAX_PAGE_SIZE.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Events starting after now.
+     */
+    private static final String UPCOMING = "upcoming";
+
+    /**
+     * Events starting before now, most recent first.
+     */
+    private static final String PAST = "past";
+
     /**
      * EventService.
      */
@@ -68,6 +113,21 @@ public class EventController {
      */
     private final EventValidator eventValidator;
 
+    /**
+     * CheckinService.
+     */
+    private final CheckinService checkinService;
+
+    /**
+     * CalendarService.
+     */
+    private final CalendarService calendarService;
+
+    /**
+     * SeriesService.
+     */
+    private final SeriesService seriesService;
+
     /**
      * Events cache.
      */
@@ -78,20 +138,46 @@ public class EventController {
      */
     private final IMap<String, List<Event>> upcomingCache;
 
+    /**
+     * Executor for operations which fan out to DataService.
+     */
+    private final Executor fanOutExecutor;
+
+    /**
+     * Fan-out operation timeout (milliseconds).
+     */
+    private final long fanOutTimeout;
+
     /**
      * EventController.
      *
      * @param eService   EventService
      * @param eValidator EventValidator
+     * @param cService   CheckinService
+     * @param calService CalendarService
+     * @param sService   SeriesService
      * @param hazelcastInstance HazelcastInstance
+     * @param executor   fan-out Executor
+     * @param props      ApplicationProperties
      */
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public EventController(final EventService eService,
                            final EventValidator eValidator,
-                           @Qualifier("events") final HazelcastInstance hazelcastInstance) {
+                           final CheckinService cService,
+                           final CalendarService calService,
+                           final SeriesService sService,
+                           @Qualifier("events") final HazelcastInstance hazelcastInstance,
+                           @Qualifier("fanOutExecutor") final Executor executor,
+                           final ApplicationProperties props) {
         eventService = eService;
         eventValidator = eValidator;
+        checkinService = cService;
+        calendarService = calService;
+        seriesService = sService;
         cache = hazelcastInstance.getMap("events");
         upcomingCache = hazelcastInstance.getMap("upcomingEvents");
+        fanOutExecutor = executor;
+        fanOutTimeout = props.getFanOutTimeout();
     }
 
     /**
@@ -103,53 +189,91 @@ public class EventController {
      * @throws AccessDeniedException     when user doesn't have permission to
      *                                   perform operation
      * @throws InvalidPayloadException   when invalid data is provided
-     * @throws ConflictException         when another event occurs within 30 minutes
-     *                                   of the provided event
+     * @throws ConflictException         when another event occurs within the conflict window
+     *                                   (events.conflict-window) of the provided event
      */
     @PostMapping
     public Event post(@RequestBody final Event event, final Principal principal)
             throws AccessDeniedException, InvalidPayloadException, ConflictException {
         eventValidator.validate(event);
         eventValidator.accessAdminOrInstructor(principal);
-        return map(eventService.store(map(event)));
+        eventValidator.validateSchedule(event);
+        final EventEntity stored = eventService.store(map(event));
+        evictUpcoming(stored.getEventType());
+        calendarService.invalidate(stored);
+        return map(stored);
     }
 
     /**
      * Gets an event.
      *
      * @param eventId   Long
+     * @param expand    optional expansions (ex: participants)
+     * @param fields    optional comma separated list of fields to be returned
      * @param principal Principal
      * @return Event
      * @throws AccessDeniedException     when user doesn't have permission to
      *                                   perform operation
+     * @throws InvalidPayloadException   when an unknown field is requested
      */
     @GetMapping(path = { "/{eventId}" })
-    public Event get(@PathVariable("eventId") final Long eventId, final Principal principal)
-            throws AccessDeniedException {
+    public Event get(@PathVariable("eventId") final Long eventId,
+                     @RequestParam(value = "expand", required = false) final String expand,
+                     @RequestParam(value = "fields", required = false) final String fields,
+                     final Principal principal)
+            throws AccessDeniedException, InvalidPayloadException {
         eventValidator.accessAnyAuthenticated(principal);
-        if (cache.containsKey(eventId)) {
-            return cache.get(eventId);
+        final Set<String> selected = EventFields.parse(fields, expand);
+        Event event = cache.get(eventId);
+        if (event == null) {
+            if (EventFields.isSummary(selected)) {
+                event = map(eventService.get(eventId, EventSummary.class));
+            } else {
+                event = map(eventService.get(eventId));
+                cache.put(eventId, event);
+            }
         }
-        final Event event = map(eventService.get(eventId));
-        cache.put(eventId, event);
-        return event;
+        return EventFields.select(expand(event, EventFields.includesParticipants(selected, expand)), selected);
     }
 
     /**
      * Updates an event.
+     * Note: when an If-Match header carrying the event's version (as returned in the ETag of a previous update) is
+     * provided, the update is rejected if the event has since been modified.
      *
      * @param event     Event
+     * @param ifMatch   optional expected version
      * @param principal Principal
-     * @return Event
+     * @return Event, with the new version as its ETag
      * @throws AccessDeniedException     when user doesn't have permission to
      *                                   perform operation
+     * @throws ConflictException         when the event was modified since the If-Match version, or another
+     *                                   event occurs within the conflict window of the provided event
+     * @throws InvalidPayloadException   when invalid data is provided
      */
     @PutMapping
-    public Event put(@RequestBody final Event event, final Principal principal)
+    public ResponseEntity<Event> put(@RequestBody final Event event,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                     final String ifMatch,
+                                     final Principal principal)
             throws AccessDeniedException, ConflictException, InvalidPayloadException {
         eventValidator.accessAdminOrInstructor(principal);
         eventValidator.validate(event);
-        return map(eventService.store(map(event)));
+        if (event.getId() == null) {
+            throw new InvalidPayloadException("No event ID was provided");
+        }
+        eventValidator.validateSchedule(event);
+        final EventEntity previous = eventService.get(event.getId());
+        final EventEntity updated = eventService.update(
+                event.getId(),
+                parseVersion(ifMatch),
+                eventEntity -> map(event, eventEntity));
+        cache.delete(updated.getId());
+        evictUpcoming(previous.getEventType());
+        evictUpcoming(updated.getEventType());
+        calendarService.invalidate(previous);
+        calendarService.invalidate(updated);
+        return ResponseEntity.ok().eTag(String.valueOf(updated.getVersion())).body(map(updated));
     }
 
     /**
@@ -164,7 +288,9 @@ public class EventController {
     public void delete(@PathVariable("eventId") final Long eventId, final Principal principal)
             throws AccessDeniedException {
         eventValidator.accessAdminOrInstructor(principal);
-        eventService.delete(eventId);
+        final EventEntity deleted = eventService.delete(eventId);
+        evictUpcoming(deleted.getEventType());
+        calendarService.invalidate(deleted);
         if (cache.containsKey(eventId)) {
             cache.delete(eventId);
         }
@@ -173,16 +299,85 @@ public class EventController {
     /**
      * Get all events.
      *
+     * @param expand    optional expansions (ex: participants)
+     * @param fields    optional comma separated list of fields to be returned
      * @param principal Principal
      *
      * @return list of Event
      * @throws AccessDeniedException     when user doesn't have permission to
      *                                   perform operation
+     * @throws InvalidPayloadException   when an unknown field is requested
      */
     @GetMapping
-    public List<Event> list(final Principal principal) throws AccessDeniedException {
+    public List<Event> list(@RequestParam(value = "expand", required = false) final String expand,
+                            @RequestParam(value = "fields", required = false) final String fields,
+                            final Principal principal) throws AccessDeniedException, InvalidPayloadException {
         eventValidator.accessAdminOrInstructor(principal);
-        return eventService.getAll().stream().map(this::map).collect(Collectors.toList());
+        final Set<String> selected = EventFields.parse(fields, expand);
+        final boolean participants = EventFields.includesParticipants(selected, expand);
+        final List<Event> events;
+        if (EventFields.isSummary(selected)) {
+            events = eventService
+                    .getAll(EventSummary.class)
+                    .stream()
+                    .map(EventController::map)
+                    .collect(Collectors.toList());
+        } else {
+            events = eventService.getAll().stream().map(EventController::map).collect(Collectors.toList());
+        }
+        return expand(events, participants)
+                .stream()
+                .map(event -> EventFields.select(event, selected))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the events a user is registered for. One query pages the IDs of the registered events, filtered and
+     * ordered by start time, and those events are read from the events cache in one call, loading only the missing
+     * events with one further query.
+     *
+     * @param userId    User ID
+     * @param when      optional filter: upcoming (soonest first) or past (most recent first)
+     * @param page      page number, from 0
+     * @param size      page size, at most MAX_PAGE_SIZE
+     * @param expand    optional expansions (ex: participants)
+     * @param fields    optional comma separated list of fields to be returned
+     * @param principal Principal
+     * @return list of Event
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     * @throws InvalidPayloadException   when the filter, page or size is invalid, or an unknown field is requested
+     */
+    @GetMapping(path = { "/user/{userId}" })
+    public List<Event> forUser(@PathVariable("userId") final Long userId,
+                               @RequestParam(value = "when", required = false) final String when,
+                               @RequestParam(value = "page", defaultValue = "0") final int page,
+                               @RequestParam(value = "size", defaultValue = "20") final int size,
+                               @RequestParam(value = "expand", required = false) final String expand,
+                               @RequestParam(value = "fields", required = false) final String fields,
+                               final Principal principal) throws AccessDeniedException, InvalidPayloadException {
+        eventValidator.accessAdminInstructorOrSpecificUser(userId, principal);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidPayloadException(String.format(
+                    "Page must not be negative and size must be between 1 and %s", MAX_PAGE_SIZE));
+        }
+        final Set<String> selected = EventFields.parse(fields, expand);
+        final LocalDateTime now = LocalDateTime.now();
+        final List<Long> ids;
+        if (when == null) {
+            ids = eventService.getRegisteredEventIds(userId, page, size);
+        } else if (UPCOMING.equalsIgnoreCase(when)) {
+            ids = eventService.getUpcomingRegisteredEventIds(userId, now, page, size);
+        } else if (PAST.equalsIgnoreCase(when)) {
+            ids = eventService.getPastRegisteredEventIds(userId, now, page, size);
+        } else {
+            throw new InvalidPayloadException(String.format("Unknown filter [%s]; expected %s or %s",
+                    when, UPCOMING, PAST));
+        }
+        return expand(getAll(ids), EventFields.includesParticipants(selected, expand))
+                .stream()
+                .map(event -> EventFields.select(event, selected))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -190,77 +385,182 @@ public class EventController {
      *
      * @param eventId   Event ID
      * @param principal Principal
-     * @return list of User IDs
+     * @return list of User IDs, completed by the fan-out executor (AccessDeniedException when user doesn't have
+     *         permission to perform operation)
+     */
+    @GetMapping(path = { "/{eventId}/instructors" })
+    public CompletableFuture<List<Long>> supportingInstructors(@PathVariable("eventId") final long eventId,
+                                                              final Principal principal) {
+        return fanOut(() -> {
+            eventValidator.accessAnyAuthenticated(principal);
+            return eventService.getAllSupportingInstructors(eventId);
+        });
+    }
+
+    /**
+     * Searches events by title, optionally filtered by type and leader. Each word of the query matches words of the
+     * title which start with it.
+     *
+     * @param query     search text
+     * @param type      optional EventType
+     * @param leader    optional leader
+     * @param page      page number, from 0
+     * @param size      page size, at most MAX_PAGE_SIZE
+     * @param principal Principal
+     * @return list of Event, most relevant first
      * @throws AccessDeniedException     when user doesn't have permission to
      *                                   perform operation
+     * @throws InvalidPayloadException   when the query is missing, or the page or size is invalid
      */
-    @GetMapping(path = { "/{eventId}/instructors" })
-    public List<Long> supportingInstructors(@PathVariable("eventId") final long eventId, final Principal principal)
-            throws AccessDeniedException {
-        eventValidator.accessAnyAuthenticated(principal);
-        return eventService.getAllSupportingInstructors(eventId);
+    @GetMapping(path = { "/search" })
+    public List<Event> search(@RequestParam(value = "q", required = false) final String query,
+                              @RequestParam(value = "type", required = false) final EventType type,
+                              @RequestParam(value = "leader", required = false) final Long leader,
+                              @RequestParam(value = "page", defaultValue = "0") final int page,
+                              @RequestParam(value = "size", defaultValue = "20") final int size,
+                              final Principal principal) throws AccessDeniedException, InvalidPayloadException {
+        eventValidator.accessAdminOrInstructor(principal);
+        if (query == null || query.isBlank()) {
+            throw new InvalidPayloadException("No search query was provided");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidPayloadException(String.format(
+                    "Page must not be negative and size must be between 1 and %s", MAX_PAGE_SIZE));
+        }
+        return eventService.search(query, type, leader, page, size)
+                .stream()
+                .map(EventController::map)
+                .collect(Collectors.toList());
     }
 
     /**
-     * Get X upcoming events.
+     * Get X upcoming events, including the occurrences of series which have not been materialized (these have no
+     * ID).
      *
      * @param type      EventType
      * @param count     number of events to be returned
+     * @param expand    optional expansions (ex: participants)
+     * @param fields    optional comma separated list of fields to be returned
      * @return list of Event
+     * @throws InvalidPayloadException   when an unknown field is requested
      */
     @GetMapping(path = { "/upcoming/{type}/{count}" })
     public List<Event> upcoming(
             @PathVariable("type") final EventType type,
-            @PathVariable("count") final int count) {
-        int actualCount = count;
-        if (actualCount > MAX_UPCOMING_COUNT) {
-            actualCount = MAX_UPCOMING_COUNT;
-        }
-        final String key = getKey(type, count);
-        if (upcomingCache.containsKey(key)) {
-            return upcomingCache.get(key);
+            @PathVariable("count") final int count,
+            @RequestParam(value = "expand", required = false) final String expand,
+            @RequestParam(value = "fields", required = false) final String fields) throws InvalidPayloadException {
+        final Set<String> selected = EventFields.parse(fields, expand);
+        final boolean summary = EventFields.isSummary(selected);
+        final String key = getKey(type, summary);
+        List<Event> upcoming = upcomingCache.get(key);
+        if (upcoming == null) {
+            final List<Event> occurrences = seriesService
+                    .getUpcoming(type, LocalDateTime.now(), MAX_UPCOMING_COUNT)
+                    .stream()
+                    .map(EventController::map)
+                    .collect(Collectors.toList());
+            if (summary) {
+                upcoming = eventService
+                        .getUpcoming(type, MAX_UPCOMING_COUNT, EventSummary.class)
+                        .stream()
+                        .map(EventController::map)
+                        .collect(Collectors.toList());
+            } else {
+                upcoming = eventService
+                        .getUpcoming(type, MAX_UPCOMING_COUNT, EventEntity.class)
+                        .stream()
+                        .map(EventController::map)
+                        .collect(Collectors.toList());
+            }
+            upcoming = SeriesService.merge(upcoming, occurrences, Event::getStartTime, MAX_UPCOMING_COUNT);
+            upcomingCache.put(key, upcoming);
         }
-        final List<Event> upcoming = eventService
-                .getAll()
+        final int actualCount = Math.max(0, Math.min(count, upcoming.size()));
+        final boolean participants = EventFields.includesParticipants(selected, expand);
+        return expand(upcoming.subList(0, actualCount), participants)
                 .stream()
-                .filter(
-                        event -> event.getStartTime().isAfter(LocalDateTime.now())
-                                && !event.isPrivateEvent()
-                                && event.getEventType() == type)
-                .sorted(Comparator.comparing(EventEntity::getStartTime))
-                .limit(actualCount)
-                .map(this::map)
+                .map(event -> EventFields.select(event, selected))
                 .collect(Collectors.toList());
-        upcomingCache.put(key, upcoming);
-        return upcoming;
     }
 
     /**
-     * Registers a user for an event.
+     * Gets the number of participants registered for an event.
+     *
+     * @param eventId   Event ID
+     * @param principal Principal
+     * @return participant count
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     */
+    @GetMapping(path = { "/{eventId}/participants/count" })
+    public int participantCount(@PathVariable("eventId") final long eventId, final Principal principal)
+            throws AccessDeniedException {
+        eventValidator.accessAnyAuthenticated(principal);
+        return eventService.getParticipantCount(eventId);
+    }
+
+    /**
+     * Registers a user for an event, or waitlists them when the event is at capacity.
      *
      * @param eventId   event ID
      * @param userId    user ID
      * @param principal Principal
+     * @return RegistrationStatus
      * @throws AccessDeniedException     when user doesn't have permission to
      *                                   perform operation
      */
     @PostMapping(path = { "/{eventId}/register/{userId}" })
-    public void register(
+    public RegistrationStatus register(
             @PathVariable("eventId") final long eventId,
             @PathVariable("userId") final long userId,
             final Principal principal) throws AccessDeniedException {
         eventValidator.accessAdminInstructorOrSpecificUser(userId, principal);
         final EventEntity event = eventService.get(eventId);
-        if ((!event.isPrivateEvent()
-                || (event.isPrivateEvent()
-                        && eventValidator.isAdminOrInstructor(principal)))
-                && !eventService.isRegistered(eventId, userId)) {
-            eventService.register(eventId, userId);
+        if (event.isPrivateEvent() && !eventValidator.isAdminOrInstructor(principal)) {
+            throw new AccessDeniedException("Only admins and instructors may register users for private events");
         }
+        try {
+            final RegistrationStatus status = eventService.register(eventId, userId);
+            if (status == RegistrationStatus.REGISTERED) {
+                evictParticipantCount(event);
+                calendarService.invalidateUsers(List.of(userId));
+            }
+            return status;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request for the same user won the race on the unique (event_id, user_id) constraint
+            return RegistrationStatus.ALREADY_REGISTERED;
+        }
+    }
+
+    /**
+     * Sets the maximum number of participants for an event. Users registering beyond it are waitlisted.
+     *
+     * @param eventId   event ID
+     * @param capacity  capacity, or omitted for unlimited
+     * @param principal Principal
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     * @throws InvalidPayloadException   when capacity is negative
+     */
+    @PutMapping(path = { "/{eventId}/capacity" })
+    public void capacity(
+            @PathVariable("eventId") final long eventId,
+            @RequestParam(value = "capacity", required = false) final Integer capacity,
+            final Principal principal) throws AccessDeniedException, InvalidPayloadException {
+        eventValidator.accessAdminOrInstructor(principal);
+        if (capacity != null && capacity < 0) {
+            throw new InvalidPayloadException("Capacity must not be negative");
+        }
+        final List<Long> promoted = eventService.setCapacity(eventId, capacity);
+        if (!promoted.isEmpty()) {
+            eventService.getAll(List.of(eventId)).forEach(this::evictParticipantCount);
+        }
+        calendarService.invalidateUsers(promoted);
     }
 
     /**
-     * Unregisters a user from an event.
+     * Unregisters a user from an event (or its waitlist). The longest waiting user takes the freed seat.
      *
      * @param eventId   event ID
      * @param userId    user ID
@@ -275,7 +575,10 @@ public class EventController {
             @PathVariable("userId") final long userId,
             final Principal principal) throws ResourceNotFoundException, AccessDeniedException {
         eventValidator.accessAdminInstructorOrSpecificUser(userId, principal);
-        eventService.unregister(eventId, userId);
+        final List<Long> affected = new ArrayList<>(eventService.unregister(eventId, userId));
+        eventService.getAll(List.of(eventId)).forEach(this::evictParticipantCount);
+        affected.add(userId);
+        calendarService.invalidateUsers(affected);
     }
 
     /**
@@ -313,12 +616,13 @@ public class EventController {
     public void start(@PathVariable("eventId") final long eventId, final Principal principal)
             throws AccessDeniedException {
         eventValidator.accessAdminOrInstructor(principal);
-        final EventEntity event = eventService.get(eventId);
-        if (event != null && !event.isStarted()) {
-            event.setStarted(true);
-            event.setStartTime(LocalDateTime.now(ZoneOffset.UTC));
-            //event.setCheckinCode(CodeGenerator.generateCode(CommonConstants.FOUR));
-            eventService.store(event);
+        if (eventService.start(eventId, LocalDateTime.now(ZoneOffset.UTC))) {
+            checkinService.issueCode(eventId);
+            cache.delete(eventId);
+            // Starting sets the start time, which takes the event out of its upcoming lists and feeds
+            final EventEntity started = eventService.get(eventId);
+            evictUpcoming(started.getEventType());
+            calendarService.invalidate(started);
         }
     }
 
@@ -334,19 +638,43 @@ public class EventController {
     public void complete(@PathVariable("eventId") final Long eventId, final Principal principal)
             throws AccessDeniedException {
         eventValidator.accessAdminOrInstructor(principal);
-        final EventEntity event = eventService.get(eventId);
-        if (event != null) {
-            if (!event.isStarted()) {
-                event.setStarted(true);
-                event.setStartTime(LocalDateTime.now());
-            }
-            event.setCompleted(true);
-            event.setCompletedTime(LocalDateTime.now());
-            event.setCheckinCode(null);
-            eventService.store(event);
+        if (eventService.complete(eventId, LocalDateTime.now())) {
+            checkinService.releaseCodes(eventId);
+            cache.delete(eventId);
+            // Completing an event which was never started also sets its start time
+            final EventEntity completed = eventService.get(eventId);
+            evictUpcoming(completed.getEventType());
+            calendarService.invalidate(completed);
         }
     }
 
+    /**
+     * Checks the current user in to the event in progress with the given check-in code.
+     *
+     * @param code      check-in code
+     * @param principal Principal
+     * @return Event ID, completed by the fan-out executor (ResourceNotFoundException when no event in progress has
+     *         the code)
+     */
+    @PostMapping(path = { "/checkin/{code}" })
+    public CompletableFuture<Long> checkin(@PathVariable("code") final String code, final Principal principal) {
+        return fanOut(() -> checkinService.checkin(code, eventValidator.accessAnyAuthenticated(principal)));
+    }
+
+    /**
+     * Checks the current user in to an event in progress which does not require a check-in code.
+     *
+     * @param eventId   Event ID
+     * @param principal Principal
+     * @return Event ID, completed by the fan-out executor (ResourceNotFoundException when the event is not in
+     *         progress; AccessDeniedException when it requires a check-in code)
+     */
+    @PostMapping(path = { "/{eventId}/checkin" })
+    public CompletableFuture<Long> checkinWithoutCode(@PathVariable("eventId") final Long eventId,
+                                                      final Principal principal) {
+        return fanOut(() -> checkinService.checkin(eventId, eventValidator.accessAnyAuthenticated(principal)));
+    }
+
     /**
      * Votes for a lesson to be presented at an event.
      * Note: Only 1 vote can be cast per user per event.
@@ -355,17 +683,19 @@ public class EventController {
      * @param lessonPlanId Lesson Plan ID - lesson to be presented
      * @param userId User ID - user casting vote
      * @param principal Principal
-     * @throws AccessDeniedException when user is not who they say they are
+     * @return completed by the fan-out executor (AccessDeniedException when user is not who they say they are)
      */
     @PostMapping(path = { "/{eventId}/vote/{userId}/{lessonPlanId}" })
-    public void vote(@PathVariable("eventId") final Long eventId,
-                     @PathVariable("userId") final Long userId,
-                     @PathVariable("lessonPlanId") final Long lessonPlanId,
-                     final Principal principal)
-            throws AccessDeniedException, InvalidPayloadException {
-        eventValidator.accessAdminInstructorOrSpecificUser(userId, principal);
-        eventValidator.validate(get(eventId, principal));
-        eventService.vote(eventId, userId, lessonPlanId);
+    public CompletableFuture<Void> vote(@PathVariable("eventId") final Long eventId,
+                                        @PathVariable("userId") final Long userId,
+                                        @PathVariable("lessonPlanId") final Long lessonPlanId,
+                                        final Principal principal) {
+        return fanOut(() -> {
+            eventValidator.accessAdminInstructorOrSpecificUser(userId, principal);
+            eventValidator.validate(get(eventId, null, null, principal));
+            eventService.vote(eventId, userId, lessonPlanId);
+            return null;
+        });
     }
 
     /**
@@ -386,34 +716,202 @@ public class EventController {
         eventService.withdrawVote(eventId, userId);
     }
 
+    /**
+     * Gets the live vote tally for an event.
+     *
+     * @param eventId Event ID
+     * @param principal Principal
+     * @return Key = LessonPlan ID; Value = votes, highest first
+     * @throws AccessDeniedException when user doesn't have permission to perform operation
+     */
+    @GetMapping(path = { "/{eventId}/votes/tally" })
+    public Map<Long, Long> voteTally(@PathVariable("eventId") final Long eventId, final Principal principal)
+            throws AccessDeniedException {
+        eventValidator.accessAnyAuthenticated(principal);
+        return eventService.getVoteTally(eventId);
+    }
+
     /**
      * Assigns a lesson plan to events based upon votes received or randomly if no votes received.
      * Also checks recent history of lessons presented, to allow for minimizing duplicate presentations
      * in a short period of time.
+     *
+     * @return completed by the fan-out executor
      */
     @PostMapping(path = { "/assign" })
-    public void assignLessonPlans() {
-        eventService.assign();
+    public CompletableFuture<Void> assignLessonPlans() {
+        return fanOut(() -> {
+            eventService.assign();
+            return null;
+        });
+    }
+
+    /**
+     * Responds 504 when a fan-out operation exceeds its timeout.
+     *
+     * @param e TimeoutException
+     */
+    @ExceptionHandler(TimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public void fanOutTimeout(final TimeoutException e) {
+        log.warn("Fan-out operation timed out after {}ms", fanOutTimeout);
+    }
+
+    /**
+     * Responds 409 when an optimistic locking failure escapes the service's retries.
+     *
+     * @param e ObjectOptimisticLockingFailureException
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public void optimisticLockingFailure(final ObjectOptimisticLockingFailureException e) {
+        log.warn("Concurrent modification: {}", e.getMessage());
+    }
+
+    /**
+     * Responds 503 when the fan-out executor is saturated.
+     *
+     * @param e TaskRejectedException
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void fanOutRejected(final TaskRejectedException e) {
+        log.warn("Fan-out executor saturated: {}", e.getMessage());
+    }
+
+    /**
+     * Runs an operation which fans out to DataService on the fan-out executor, releasing the container thread.
+     * Checked exceptions complete the future exceptionally and are resolved as if thrown by the endpoint.
+     *
+     * @param task operation
+     * @param <T> result type
+     * @return result
+     */
+    private <T> CompletableFuture<T> fanOut(final Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, fanOutExecutor).orTimeout(fanOutTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Parses an If-Match header value into an event version.
+     *
+     * @param ifMatch If-Match header value, or null
+     * @return version, or null when not provided
+     * @throws InvalidPayloadException when the value is not a version
+     */
+    private static Long parseVersion(final String ifMatch) throws InvalidPayloadException {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(ifMatch.replace("W/", "").replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidPayloadException(String.format("Invalid If-Match version [%s]", ifMatch));
+        }
+    }
+
+    /**
+     * Evicts the cached values which carry an event's participant count: the event itself and the upcoming events of
+     * its type.
+     *
+     * @param event EventEntity
+     */
+    private void evictParticipantCount(final EventEntity event) {
+        cache.delete(event.getId());
+        evictUpcoming(event.getEventType());
     }
 
     /**
-     * Generates a key from the provided values.
+     * Evicts the cached upcoming events of a type (both the full and the summary lists).
      *
      * @param type EventType
-     * @param count count
+     */
+    private void evictUpcoming(final EventType type) {
+        upcomingCache.delete(getKey(type, true));
+        upcomingCache.delete(getKey(type, false));
+    }
+
+    /**
+     * Generates an upcoming events cache key from the provided values. Each entry holds the next MAX_UPCOMING_COUNT
+     * events, which serves requests for any count.
+     *
+     * @param type EventType
+     * @param summary summary projection?
      * @return key
      */
-    private String getKey(final EventType type, final int count) {
-        return String.format("type=%s;count=%s", type, count);
+    public static String getKey(final EventType type, final boolean summary) {
+        return String.format("type=%s;summary=%s", type, summary);
+    }
+
+    /**
+     * Populates the requested expansions on an Event.
+     * Note: participants are only loaded when explicitly requested, keeping cached values and list responses small.
+     *
+     * @param event Event
+     * @param participants participants requested?
+     * @return Event
+     */
+    private Event expand(final Event event, final boolean participants) {
+        if (participants) {
+            event.setParticipantIds(eventService.getParticipants(event.getId()));
+        }
+        return event;
+    }
+
+    /**
+     * Populates the requested expansions on a list of Events, loading participants for all of them at once.
+     *
+     * @param events list of Event
+     * @param participants participants requested?
+     * @return list of Event
+     */
+    private List<Event> expand(final List<Event> events, final boolean participants) {
+        if (participants && !events.isEmpty()) {
+            final Map<Long, List<Long>> participantIds = eventService
+                    .getParticipants(events.stream().map(Event::getId).filter(Objects::nonNull)
+                            .collect(Collectors.toList()));
+            events.forEach(event -> event.setParticipantIds(
+                    participantIds.getOrDefault(event.getId(), new ArrayList<>())));
+        }
+        return events;
+    }
+
+    /**
+     * Gets events from the events cache, loading the missing ones with a single query and caching them.
+     *
+     * @param ids Event IDs
+     * @return list of Events, in the order of the IDs (missing IDs are skipped)
+     */
+    private List<Event> getAll(final List<Long> ids) {
+        final Map<Long, Event> events = new HashMap<>(cache.getAll(new HashSet<>(ids)));
+        final Set<Long> missing = new HashSet<>(ids);
+        missing.removeAll(events.keySet());
+        if (!missing.isEmpty()) {
+            final Map<Long, Event> loaded = eventService.getAll(missing)
+                    .stream()
+                    .map(EventController::map)
+                    .collect(Collectors.toMap(Event::getId, Function.identity()));
+            cache.putAll(loaded);
+            events.putAll(loaded);
+        }
+        return ids.stream().map(events::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
     /**
      * Maps an EventEntity to an Event.
+     * Note: only the participant count is included, not the participants themselves; see expand().
      *
      * @param eventEntity EventEntity
      * @return Event
      */
-    private Event map(final EventEntity eventEntity) {
+    public static Event map(final EventEntity eventEntity) {
         final Event event = new Event();
         event.setId(eventEntity.getId());
         event.setEventType(eventEntity.getEventType());
@@ -428,8 +926,26 @@ public class EventController {
         event.setStartTime(eventEntity.getStartTime());
         event.setLead(eventEntity.getLeader());
         event.setLessonPlanId(eventEntity.getLessonPlanId());
-        event.setParticipantIds(eventService.getParticipants(eventEntity.getId()));
         event.setTitle(eventEntity.getTitle());
+        event.setParticipantCount(eventEntity.getParticipantCount());
+        return event;
+    }
+
+    /**
+     * Maps an EventSummary projection to an Event.
+     *
+     * @param summary EventSummary
+     * @return Event
+     */
+    public static Event map(final EventSummary summary) {
+        final Event event = new Event();
+        event.setId(summary.getId());
+        event.setTitle(summary.getTitle());
+        event.setEventType(summary.getEventType());
+        event.setPrivateEvent(summary.isPrivateEvent());
+        event.setStartTime(summary.getStartTime());
+        event.setLead(summary.getLeader());
+        event.setParticipantCount(summary.getParticipantCount());
         return event;
     }
 
@@ -439,18 +955,30 @@ public class EventController {
      * @param event Event
      * @return EventEntity
      */
-    private EventEntity map(final Event event) {
-        final EventEntity eventEntity = new EventEntity();
+    static EventEntity map(final Event event) {
+        final EventEntity eventEntity = map(event, new EventEntity());
+        eventEntity.setCompleted(event.isCompleted());
+        eventEntity.setCompletedTime(event.getCompletedTime());
+        return eventEntity;
+    }
+
+    /**
+     * Copies an Event onto an EventEntity.
+     * Note: the event's state (started, completed and check-in code) is left alone; it only changes through start and
+     * complete.
+     *
+     * @param event Event
+     * @param eventEntity EventEntity to be updated
+     * @return EventEntity
+     */
+    static EventEntity map(final Event event, final EventEntity eventEntity) {
         eventEntity.setEventType(event.getEventType());
         eventEntity.setId(event.getId());
-        eventEntity.setCompleted(event.isCompleted());
         eventEntity.setPrivateEvent(event.isPrivateEvent());
         eventEntity.setLeader(event.getLead());
         eventEntity.setStarted(eventEntity.isStarted());
         eventEntity.setCalendarUrl(eventEntity.getCalendarUrl());
         eventEntity.setTitle(event.getTitle());
-        eventEntity.setCompleted(event.isCompleted());
-        eventEntity.setCompletedTime(event.getCompletedTime());
         eventEntity.setStartTime(event.getStartTime());
         eventEntity.setCheckinCode(eventEntity.getCheckinCode());
         eventEntity.setCheckinCodeRequired(eventEntity.isCheckinCodeRequired());
@@ -0,0 +1,188 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.controller;
+
+import com.starfireaviation.common.exception.InvalidPayloadException;
+import com.starfireaviation.common.model.Event;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * EventFields - sparse fieldset support for Event responses.
+ */
+public final class EventFields {
+
+    /**
+     * Participant IDs field.
+     */
+    public static final String PARTICIPANT_IDS = "participantIds";
+
+    /**
+     * Participant count field.
+     */
+    public static final String PARTICIPANT_COUNT = "participantCount";
+
+    /**
+     * Expansion value requesting the full participant list.
+     */
+    public static final String EXPAND_PARTICIPANTS = "participants";
+
+    /**
+     * All selectable Event fields.
+     */
+    public static final Set<String> ALL = Set.of(
+            "id", "title", "eventType", "privateEvent", "startTime", "lead", "started", "completed",
+            "completedTime", "calendarUrl", "checkinCode", "checkinCodeRequired", "lessonPlanId", PARTICIPANT_COUNT,
+            PARTICIPANT_IDS);
+
+    /**
+     * Fields which can be served by the EventSummary projection.
+     */
+    public static final Set<String> SUMMARY = Set.of(
+            "id", "title", "eventType", "privateEvent", "startTime", "lead", PARTICIPANT_COUNT, PARTICIPANT_IDS);
+
+    /**
+     * EventFields.
+     */
+    private EventFields() {
+    }
+
+    /**
+     * Parses the fields and expand request parameters.
+     *
+     * @param fields comma separated list of fields, or null for all fields
+     * @param expand comma separated list of expansions, or null
+     * @return selected fields, or null when all fields were requested
+     * @throws InvalidPayloadException when an unknown field is requested
+     */
+    public static Set<String> parse(final String fields, final String expand) throws InvalidPayloadException {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        final Set<String> selected = Arrays
+                .stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(HashSet::new));
+        for (final String field : selected) {
+            if (!ALL.contains(field)) {
+                throw new InvalidPayloadException(String.format("Unknown field [%s]", field));
+            }
+        }
+        if (isExpanded(expand)) {
+            selected.add(PARTICIPANT_IDS);
+        }
+        return selected;
+    }
+
+    /**
+     * Determines if the expand request parameter asks for participants.
+     *
+     * @param expand comma separated list of expansions, or null
+     * @return participants expanded?
+     */
+    public static boolean isExpanded(final String expand) {
+        return expand != null && Arrays.asList(expand.split(",")).contains(EXPAND_PARTICIPANTS);
+    }
+
+    /**
+     * Determines if participants must be loaded.
+     *
+     * @param selected selected fields, or null for all fields
+     * @param expand comma separated list of expansions, or null
+     * @return participants required?
+     */
+    public static boolean includesParticipants(final Set<String> selected, final String expand) {
+        if (selected == null) {
+            return isExpanded(expand);
+        }
+        return selected.contains(PARTICIPANT_IDS);
+    }
+
+    /**
+     * Determines if the selected fields can be served by the EventSummary projection.
+     *
+     * @param selected selected fields, or null for all fields
+     * @return summary projection sufficient?
+     */
+    public static boolean isSummary(final Set<String> selected) {
+        return selected != null && SUMMARY.containsAll(selected);
+    }
+
+    /**
+     * Copies only the selected fields into a new Event.
+     *
+     * @param event Event
+     * @param selected selected fields, or null for all fields
+     * @return Event
+     */
+    public static Event select(final Event event, final Set<String> selected) {
+        if (selected == null) {
+            return event;
+        }
+        final Event result = new Event();
+        if (selected.contains("id")) {
+            result.setId(event.getId());
+        }
+        if (selected.contains("title")) {
+            result.setTitle(event.getTitle());
+        }
+        if (selected.contains("eventType")) {
+            result.setEventType(event.getEventType());
+        }
+        if (selected.contains("privateEvent")) {
+            result.setPrivateEvent(event.isPrivateEvent());
+        }
+        if (selected.contains("startTime")) {
+            result.setStartTime(event.getStartTime());
+        }
+        if (selected.contains("lead")) {
+            result.setLead(event.getLead());
+        }
+        if (selected.contains("started")) {
+            result.setStarted(event.isStarted());
+        }
+        if (selected.contains("completed")) {
+            result.setCompleted(event.isCompleted());
+        }
+        if (selected.contains("completedTime")) {
+            result.setCompletedTime(event.getCompletedTime());
+        }
+        if (selected.contains("calendarUrl")) {
+            result.setCalendarUrl(event.getCalendarUrl());
+        }
+        if (selected.contains("checkinCode")) {
+            result.setCheckinCode(event.getCheckinCode());
+        }
+        if (selected.contains("checkinCodeRequired")) {
+            result.setCheckinCodeRequired(event.isCheckinCodeRequired());
+        }
+        if (selected.contains("lessonPlanId")) {
+            result.setLessonPlanId(event.getLessonPlanId());
+        }
+        if (selected.contains(PARTICIPANT_COUNT)) {
+            result.setParticipantCount(event.getParticipantCount());
+        }
+        if (selected.contains(PARTICIPANT_IDS)) {
+            result.setParticipantIds(event.getParticipantIds());
+        }
+        return result;
+    }
+}
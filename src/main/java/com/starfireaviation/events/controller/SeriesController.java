@@ -0,0 +1,281 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.controller;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.starfireaviation.common.exception.AccessDeniedException;
+import com.starfireaviation.common.exception.ConflictException;
+import com.starfireaviation.common.exception.InvalidPayloadException;
+import com.starfireaviation.common.exception.ResourceNotFoundException;
+import com.starfireaviation.common.model.Event;
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventSeries;
+import com.starfireaviation.events.service.CalendarService;
+import com.starfireaviation.events.service.SeriesService;
+import com.starfireaviation.events.validation.EventValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SeriesController - recurring event series and their occurrences.
+ * An occurrence is addressed by its series and scheduled start. Before registering for, voting on or starting an
+ * occurrence, materialize it; the returned event's ID is then used with the event endpoints.
+ */
+@Slf4j
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@RestController
+@RequestMapping({ "/api/events/series" })
+public class SeriesController {
+
+    /**
+     * Default occurrence window (days).
+     */
+    public static final int DEFAULT_WINDOW_DAYS = 90;
+
+    /**
+     * Maximum occurrence window (days).
+     */
+    public static final int MAX_WINDOW_DAYS = 366;
+
+    /**
+     * SeriesService.
+     */
+    private final SeriesService seriesService;
+
+    /**
+     * EventValidator.
+     */
+    private final EventValidator eventValidator;
+
+    /**
+     * CalendarService.
+     */
+    private final CalendarService calendarService;
+
+    /**
+     * Upcoming Events cache (see EventController.upcoming), which lists unmaterialized occurrences.
+     */
+    private final IMap<String, List<Event>> upcomingCache;
+
+    /**
+     * SeriesController.
+     *
+     * @param sService SeriesService
+     * @param eValidator EventValidator
+     * @param calService CalendarService
+     * @param hazelcastInstance HazelcastInstance
+     */
+    public SeriesController(final SeriesService sService, final EventValidator eValidator,
+                            final CalendarService calService,
+                            @Qualifier("events") final HazelcastInstance hazelcastInstance) {
+        seriesService = sService;
+        eventValidator = eValidator;
+        calendarService = calService;
+        upcomingCache = hazelcastInstance.getMap("upcomingEvents");
+    }
+
+    /**
+     * Creates a series.
+     *
+     * @param series    EventSeries
+     * @param principal Principal
+     * @return EventSeries
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     * @throws InvalidPayloadException   when invalid data is provided
+     */
+    @PostMapping
+    public EventSeries post(@RequestBody final EventSeries series, final Principal principal)
+            throws AccessDeniedException, InvalidPayloadException {
+        eventValidator.accessAdminOrInstructor(principal);
+        validate(series);
+        series.setId(null);
+        series.setVersion(null);
+        final EventSeries stored = seriesService.store(series);
+        evictUpcoming(stored.getEventType());
+        calendarService.invalidate(stored);
+        return stored;
+    }
+
+    /**
+     * Gets a series.
+     *
+     * @param seriesId  Long
+     * @param principal Principal
+     * @return EventSeries
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     */
+    @GetMapping(path = { "/{seriesId}" })
+    public EventSeries get(@PathVariable("seriesId") final long seriesId, final Principal principal)
+            throws AccessDeniedException {
+        eventValidator.accessAnyAuthenticated(principal);
+        return seriesService.get(seriesId);
+    }
+
+    /**
+     * Deletes a series. Materialized occurrences remain as standalone events.
+     *
+     * @param seriesId  Long
+     * @param principal Principal
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     */
+    @DeleteMapping(path = { "/{seriesId}" })
+    public void delete(@PathVariable("seriesId") final long seriesId, final Principal principal)
+            throws AccessDeniedException {
+        eventValidator.accessAdminOrInstructor(principal);
+        final EventSeries deleted = seriesService.delete(seriesId);
+        evictUpcoming(deleted.getEventType());
+        calendarService.invalidate(deleted);
+    }
+
+    /**
+     * Gets the occurrences of a series scheduled within a window.
+     *
+     * @param seriesId  Long
+     * @param from      first scheduled start (inclusive, UTC); defaults to now
+     * @param to        last scheduled start (exclusive, UTC); defaults to DEFAULT_WINDOW_DAYS after from
+     * @param principal Principal
+     * @return list of SeriesOccurrence, ordered by scheduled start
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     * @throws InvalidPayloadException   when the window is empty or longer than MAX_WINDOW_DAYS
+     */
+    @GetMapping(path = { "/{seriesId}/occurrences" })
+    public List<SeriesOccurrence> occurrences(
+            @PathVariable("seriesId") final long seriesId,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to,
+            final Principal principal) throws AccessDeniedException, InvalidPayloadException {
+        eventValidator.accessAnyAuthenticated(principal);
+        LocalDateTime windowStart = from;
+        if (windowStart == null) {
+            windowStart = LocalDateTime.now(ZoneOffset.UTC);
+        }
+        LocalDateTime windowEnd = to;
+        if (windowEnd == null) {
+            windowEnd = windowStart.plusDays(DEFAULT_WINDOW_DAYS);
+        }
+        if (!windowEnd.isAfter(windowStart) || windowEnd.isAfter(windowStart.plusDays(MAX_WINDOW_DAYS))) {
+            throw new InvalidPayloadException(String.format(
+                    "Window [%s, %s) must be non-empty and span at most %s days", windowStart, windowEnd,
+                    MAX_WINDOW_DAYS));
+        }
+        return seriesService.getOccurrences(seriesId, windowStart, windowEnd)
+                .stream()
+                .map(event -> new SeriesOccurrence(event.getOccurrenceStart(), EventController.map(event)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Materializes an occurrence, unless it already has been.
+     *
+     * @param seriesId  Long
+     * @param start     scheduled start of the occurrence (UTC)
+     * @param principal Principal
+     * @return Event
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     * @throws ResourceNotFoundException when the series has no occurrence at the given start
+     */
+    @PostMapping(path = { "/{seriesId}/occurrences/{start}" })
+    public Event materialize(@PathVariable("seriesId") final long seriesId,
+                             @PathVariable("start")
+                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime start,
+                             final Principal principal) throws AccessDeniedException, ResourceNotFoundException {
+        eventValidator.accessAnyAuthenticated(principal);
+        final EventEntity event = seriesService.materialize(seriesId, start);
+        evictUpcoming(event.getEventType());
+        return EventController.map(event);
+    }
+
+    /**
+     * Cancels an occurrence which has not been materialized.
+     *
+     * @param seriesId  Long
+     * @param start     scheduled start of the occurrence (UTC)
+     * @param principal Principal
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     * @throws ResourceNotFoundException when the series has no occurrence at the given start
+     * @throws ConflictException         when the occurrence has been materialized; delete its event instead
+     */
+    @DeleteMapping(path = { "/{seriesId}/occurrences/{start}" })
+    public void cancel(@PathVariable("seriesId") final long seriesId,
+                       @PathVariable("start")
+                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime start,
+                       final Principal principal)
+            throws AccessDeniedException, ResourceNotFoundException, ConflictException {
+        eventValidator.accessAdminOrInstructor(principal);
+        final EventSeries series = seriesService.cancel(seriesId, start);
+        evictUpcoming(series.getEventType());
+        calendarService.invalidate(series);
+    }
+
+    /**
+     * Evicts the cached upcoming events of a type, which may list the series' occurrences.
+     *
+     * @param type EventType
+     */
+    private void evictUpcoming(final EventType type) {
+        upcomingCache.delete(EventController.getKey(type, true));
+        upcomingCache.delete(EventController.getKey(type, false));
+    }
+
+    /**
+     * Validates a series.
+     *
+     * @param series EventSeries
+     * @throws InvalidPayloadException when invalid data is provided
+     */
+    private static void validate(final EventSeries series) throws InvalidPayloadException {
+        if (series == null) {
+            throw new InvalidPayloadException("No series was provided");
+        }
+        if (series.getTitle() == null || series.getTitle().isBlank()
+                || series.getLeader() == null || series.getLessonPlanId() == null) {
+            throw new InvalidPayloadException("Title, leader and lessonPlanId are required");
+        }
+        if (series.getFirstStart() == null || series.getFrequency() == null || series.getInterval() < 1) {
+            throw new InvalidPayloadException("firstStart, frequency and a positive interval are required");
+        }
+        if (series.getCount() != null && series.getCount() < 1) {
+            throw new InvalidPayloadException("Count must be positive");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import org.hibernate.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * CacheEvictor - evicts individual second-level cache entries changed by statements run through JdbcTemplate.
+ * Hibernate does not see those statements, so unlike bulk JPQL or native queries they do not evict the whole region
+ * of a cached entity; the entries they change are evicted here instead. Each eviction is repeated after commit, so
+ * a reader racing the transaction cannot leave the row cached as it was before the commit.
+ */
+final class CacheEvictor {
+
+    /**
+     * Second-level cache.
+     */
+    private final Cache cache;
+
+    /**
+     * CacheEvictor.
+     *
+     * @param emf EntityManagerFactory
+     */
+    CacheEvictor(final EntityManagerFactory emf) {
+        cache = emf.getCache().unwrap(Cache.class);
+    }
+
+    /**
+     * Evicts an entity's entry.
+     *
+     * @param type entity type
+     * @param id entity ID
+     */
+    void evictEntity(final Class<?> type, final Object id) {
+        evict(() -> cache.evict(type, id));
+    }
+
+    /**
+     * Evicts the cached results of the queries in a query cache region.
+     *
+     * @param region query cache region
+     */
+    void evictQueryRegion(final String region) {
+        evict(() -> cache.evictQueryRegion(region));
+    }
+
+    /**
+     * Runs an eviction now and, within a transaction, again after commit.
+     *
+     * @param eviction eviction
+     */
+    private static void evict(final Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
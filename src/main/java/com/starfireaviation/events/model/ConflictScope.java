@@ -0,0 +1,43 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+/**
+ * Events against which a new or updated event is checked for scheduling conflicts.
+ */
+public enum ConflictScope {
+
+    /**
+     * No conflict detection.
+     */
+    NONE,
+
+    /**
+     * Any other event.
+     */
+    GLOBAL,
+
+    /**
+     * Other events with the same leader.
+     */
+    LEADER,
+
+    /**
+     * Other events of the same type.
+     */
+    TYPE
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Event Attendance. Rows are append-only; CheckinService writes concurrent check-ins together in one batch, before
+ * any of them returns.
+ */
+@Data
+@Entity
+@Table(name = "EVENT_ATTENDANCE",
+        uniqueConstraints = @UniqueConstraint(name = "UK_EVENT_ATTENDANCE_EVENT_USER",
+                columnNames = { "event_id", "user_id" }))
+public class EventAttendance implements Serializable {
+
+    /**
+     * Default SerialVersionUID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * ID.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Event ID.
+     */
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    /**
+     * User ID.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Checked In At.
+     */
+    @Column(name = "checked_in_at", nullable = false)
+    private LocalDateTime checkedInAt;
+
+}
@@ -19,17 +19,25 @@ package com.starfireaviation.events.model;
 import com.starfireaviation.common.CommonConstants;
 import com.starfireaviation.common.model.EventType;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.Date;
@@ -39,7 +47,17 @@ import java.util.Date;
  */
 @Data
 @Entity
-@Table(name = "EVENT")
+@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "EVENT", indexes = {
+        @Index(name = "IX_EVENT_TYPE_PRIVATE_START_TIME", columnList = "type, private, start_time"),
+        @Index(name = "IX_EVENT_START_TIME", columnList = "start_time"),
+        @Index(name = "IX_EVENT_LEADER_START_TIME", columnList = "leader, start_time"),
+        @Index(name = "IX_EVENT_TYPE_START_TIME", columnList = "type, start_time")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "UK_EVENT_SERIES_OCCURRENCE", columnNames = { "series_id", "occurrence_start" })
+})
 public class EventEntity implements Serializable {
 
     /**
@@ -54,6 +72,15 @@ public class EventEntity implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * Version, incremented on every full-row update (optimistic locking). The state and counter columns are left
+     * out of those updates and changed by EventRepository's conditional updates instead, which (apart from a
+     * changed start time) leave the version alone.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /**
      * Created At.
      */
@@ -76,8 +103,9 @@ public class EventEntity implements Serializable {
 
     /**
      * Event started?
+     * Note: only changed by EventRepository's conditional updates, never by saving the entity.
      */
-    @Column(name = "started", nullable = false)
+    @Column(name = "started", nullable = false, updatable = false)
     private boolean started = false;
 
     /**
@@ -88,14 +116,15 @@ public class EventEntity implements Serializable {
 
     /**
      * Event completed?
+     * Note: only changed by EventRepository's conditional updates, never by saving the entity.
      */
-    @Column(name = "completed", nullable = false)
+    @Column(name = "completed", nullable = false, updatable = false)
     private boolean completed = false;
 
     /**
      * LocalDateTime - completedTime.
      */
-    @Column(name = "completed_time")
+    @Column(name = "completed_time", updatable = false)
     private LocalDateTime completedTime;
 
     /**
@@ -106,8 +135,9 @@ public class EventEntity implements Serializable {
 
     /**
      * Checkin code.
+     * Note: only changed by EventRepository's conditional updates, never by saving the entity.
      */
-    @Column(name = "checkin_code", length = CommonConstants.FOUR)
+    @Column(name = "checkin_code", length = CommonConstants.FOUR, updatable = false)
     private String checkinCode;
 
     /**
@@ -141,4 +171,30 @@ public class EventEntity implements Serializable {
     @Column(name = "leader", nullable = false)
     private Long leader;
 
+    /**
+     * Number of registered participants (denormalized from EVENT_PARTICIPANT).
+     * Note: only maintained by EventRepository's atomic updates, never by saving the entity.
+     */
+    @Column(name = "participant_count", nullable = false, updatable = false)
+    private int participantCount = 0;
+
+    /**
+     * Maximum number of participants, or null when unlimited.
+     * Note: only changed by EventRepository.updateCapacity, never by saving the entity.
+     */
+    @Column(name = "capacity", updatable = false)
+    private Integer capacity;
+
+    /**
+     * Series this event is a materialized occurrence of, or null for a standalone event.
+     */
+    @Column(name = "series_id", updatable = false)
+    private Long seriesId;
+
+    /**
+     * Scheduled start of the occurrence within its series; unlike startTime, never changes once materialized.
+     */
+    @Column(name = "occurrence_start", updatable = false)
+    private LocalDateTime occurrenceStart;
+
 }
@@ -16,15 +16,19 @@
 
 package com.starfireaviation.events.model;
 
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * EventParticipantRepository.
  */
-public interface EventParticipantRepository extends Repository<EventParticipant, Long> {
+public interface EventParticipantRepository extends Repository<EventParticipant, Long>,
+        EventParticipantRepositoryCustom {
 
     /**
      * Deletes an entry.
@@ -47,8 +51,20 @@ public interface EventParticipantRepository extends Repository<EventParticipant,
      * @param eventId Event ID
      * @return list of EventParticipant
      */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = PARTICIPANTS_REGION)
+    })
     Optional<List<EventParticipant>> findByEventId(Long eventId);
 
+    /**
+     * Gets all EventParticipants for the given events.
+     *
+     * @param eventIds Event IDs
+     * @return list of EventParticipant
+     */
+    List<EventParticipant> findByEventIdIn(Collection<Long> eventIds);
+
     /**
      * Gets all EventParticipants for a given user.
      *
@@ -57,6 +73,19 @@ public interface EventParticipantRepository extends Repository<EventParticipant,
      */
     Optional<List<EventParticipant>> findByUserId(Long userId);
 
+    /**
+     * Is the user registered for the given event?
+     *
+     * @param eventId Event ID
+     * @param userId User ID
+     * @return whether or not an entry exists
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = PARTICIPANTS_REGION)
+    })
+    boolean existsByEventIdAndUserId(Long eventId, Long userId);
+
     /**
      * Saves an entry.
      *
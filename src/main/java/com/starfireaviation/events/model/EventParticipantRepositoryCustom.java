@@ -0,0 +1,39 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+/**
+ * EventParticipantRepositoryCustom - single-statement registration deletes. They run outside Hibernate, so only the
+ * deleted entry and the cached results of the participant queries (PARTICIPANTS_REGION) are evicted, rather than
+ * the whole EventParticipant region.
+ */
+public interface EventParticipantRepositoryCustom {
+
+    /**
+     * Query cache region of the participant queries.
+     */
+    String PARTICIPANTS_REGION = "eventParticipants";
+
+    /**
+     * Deletes all entries for the given event and user.
+     *
+     * @param eventId Event ID
+     * @param userId User ID
+     * @return number of entries deleted
+     */
+    int deleteByEventIdAndUserId(Long eventId, Long userId);
+}
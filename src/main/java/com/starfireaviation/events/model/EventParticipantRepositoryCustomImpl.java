@@ -0,0 +1,81 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+/**
+ * EventParticipantRepositoryCustomImpl.
+ */
+class EventParticipantRepositoryCustomImpl implements EventParticipantRepositoryCustom {
+
+    /**
+     * IDs of the entries for an event and user.
+     */
+    private static final String SELECT_IDS = "SELECT id FROM event_participant WHERE event_id = ? AND user_id = ?";
+
+    /**
+     * Entry delete by event and user.
+     */
+    private static final String DELETE = "DELETE FROM event_participant WHERE event_id = ? AND user_id = ?";
+
+    /**
+     * JdbcTemplate.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * CacheEvictor.
+     */
+    private final CacheEvictor cacheEvictor;
+
+    /**
+     * EventParticipantRepositoryCustomImpl.
+     *
+     * @param jdbc JdbcTemplate
+     * @param emf EntityManagerFactory
+     */
+    EventParticipantRepositoryCustomImpl(final JdbcTemplate jdbc, final EntityManagerFactory emf) {
+        jdbcTemplate = jdbc;
+        cacheEvictor = new CacheEvictor(emf);
+    }
+
+    /**
+     * Deletes all entries for the given event and user, then evicts their cached entries and the cached participant
+     * query results. The entries' IDs are only read to evict them; the delete alone decides the result.
+     *
+     * @param eventId Event ID
+     * @param userId User ID
+     * @return number of entries deleted
+     */
+    @Override
+    public int deleteByEventIdAndUserId(final Long eventId, final Long userId) {
+        final List<Long> ids = jdbcTemplate.queryForList(SELECT_IDS, Long.class, eventId, userId);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        final int deleted = jdbcTemplate.update(DELETE, eventId, userId);
+        if (deleted > 0) {
+            ids.forEach(id -> cacheEvictor.evictEntity(EventParticipant.class, id));
+            cacheEvictor.evictQueryRegion(PARTICIPANTS_REGION);
+        }
+        return deleted;
+    }
+}
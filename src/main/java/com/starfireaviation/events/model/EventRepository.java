@@ -16,15 +16,22 @@
 
 package com.starfireaviation.events.model;
 
+import com.starfireaviation.common.model.EventType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * EventRepository.
  */
-public interface EventRepository extends Repository<EventEntity, Long> {
+public interface EventRepository extends Repository<EventEntity, Long>, EventRepositoryCustom {
 
     /**
      * Deletes an event.
@@ -40,6 +47,78 @@ public interface EventRepository extends Repository<EventEntity, Long> {
      */
     Optional<List<EventEntity>> findAll();
 
+    /**
+     * Gets all events, selecting only the columns of the given projection.
+     *
+     * @param type projection type
+     * @param <T> projection type
+     * @return list of projections
+     */
+    <T> List<T> findAllBy(Class<T> type);
+
+    /**
+     * Gets the events with the given IDs, in a single query.
+     *
+     * @param ids Event IDs
+     * @return list of Events (missing IDs are skipped)
+     */
+    List<EventEntity> findAllById(Iterable<Long> ids);
+
+    /**
+     * Gets the materialized occurrences of a series scheduled within a window.
+     *
+     * @param seriesId Series ID
+     * @param from first scheduled start (inclusive)
+     * @param to last scheduled start (inclusive)
+     * @return list of Events
+     */
+    List<EventEntity> findBySeriesIdAndOccurrenceStartBetween(Long seriesId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Gets the materialized occurrences of several series scheduled within a window.
+     *
+     * @param seriesIds Series IDs
+     * @param from first scheduled start (inclusive)
+     * @param to last scheduled start (inclusive)
+     * @return list of Events
+     */
+    List<EventEntity> findBySeriesIdInAndOccurrenceStartBetween(Collection<Long> seriesIds, LocalDateTime from,
+                                                                LocalDateTime to);
+
+    /**
+     * Gets the materialized occurrence of a series scheduled at the given time.
+     *
+     * @param seriesId Series ID
+     * @param occurrenceStart scheduled start
+     * @return Event
+     */
+    Optional<EventEntity> findBySeriesIdAndOccurrenceStart(Long seriesId, LocalDateTime occurrenceStart);
+
+    /**
+     * Gets the next public events of a type starting after the given time.
+     *
+     * @param eventType EventType
+     * @param time start time lower bound
+     * @param pageable page (size and sort)
+     * @param type projection type
+     * @param <T> projection type
+     * @return list of projections
+     */
+    <T> List<T> findByEventTypeAndPrivateEventFalseAndStartTimeAfter(EventType eventType,
+                                                                     LocalDateTime time,
+                                                                     Pageable pageable,
+                                                                     Class<T> type);
+
+    /**
+     * Gets an event, selecting only the columns of the given projection.
+     *
+     * @param id Long
+     * @param type projection type
+     * @param <T> projection type
+     * @return projection
+     */
+    <T> Optional<T> findProjectedById(Long id, Class<T> type);
+
     /**
      * Gets an event.
      *
@@ -48,6 +127,147 @@ public interface EventRepository extends Repository<EventEntity, Long> {
      */
     Optional<EventEntity> findById(Long id);
 
+    /**
+     * Gets an event which is about to be modified. Runs in a read-write transaction, so it is always read from the
+     * primary rather than the read replica.
+     *
+     * @param id Long
+     * @return Event
+     */
+    @Transactional
+    @Query("select e from EventEntity e where e.id = :id")
+    Optional<EventEntity> findForUpdate(@Param("id") Long id);
+
+    /**
+     * Checks whether an event exists.
+     *
+     * @param id Long
+     * @return true when the event exists
+     */
+    boolean existsById(Long id);
+
+    /**
+     * Checks whether another event starts within the given range.
+     *
+     * @param from earliest start time (inclusive)
+     * @param to latest start time (inclusive)
+     * @param id ID of the event being checked
+     * @return true when another event starts within the range
+     */
+    boolean existsByStartTimeBetweenAndIdNot(LocalDateTime from, LocalDateTime to, Long id);
+
+    /**
+     * Checks whether another event with the given leader starts within the given range.
+     *
+     * @param leader Leader User ID
+     * @param from earliest start time (inclusive)
+     * @param to latest start time (inclusive)
+     * @param id ID of the event being checked
+     * @return true when another event of the leader starts within the range
+     */
+    boolean existsByLeaderAndStartTimeBetweenAndIdNot(Long leader, LocalDateTime from, LocalDateTime to, Long id);
+
+    /**
+     * Checks whether another event of the given type starts within the given range.
+     *
+     * @param eventType EventType
+     * @param from earliest start time (inclusive)
+     * @param to latest start time (inclusive)
+     * @param id ID of the event being checked
+     * @return true when another event of the type starts within the range
+     */
+    boolean existsByEventTypeAndStartTimeBetweenAndIdNot(EventType eventType, LocalDateTime from, LocalDateTime to,
+                                                        Long id);
+
+    /**
+     * Gets upcoming events a user leads or participates in, ordered by start time.
+     *
+     * @param userId User ID
+     * @param after only events starting after this time
+     * @param pageable page
+     * @return list of Events
+     */
+    @Query("select e from EventEntity e where e.startTime > :after and (e.leader = :userId "
+            + "or e.id in (select p.eventId from EventParticipant p where p.userId = :userId)) "
+            + "order by e.startTime")
+    List<EventEntity> findUpcomingByUser(@Param("userId") Long userId,
+                                         @Param("after") LocalDateTime after,
+                                         Pageable pageable);
+
+    /**
+     * Gets a page of the IDs of the events a user is registered for, by start time (events without one last).
+     *
+     * @param userId User ID
+     * @param pageable page
+     * @return list of Event IDs
+     */
+    @Query("select e.id from EventEntity e, EventParticipant p where p.eventId = e.id and p.userId = :userId "
+            + "order by case when e.startTime is null then 1 else 0 end, e.startTime, e.id")
+    List<Long> findRegisteredIds(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Gets a page of the IDs of the events a user is registered for which start after the given time, soonest
+     * first.
+     *
+     * @param userId User ID
+     * @param time start time lower bound (exclusive)
+     * @param pageable page
+     * @return list of Event IDs
+     */
+    @Query("select e.id from EventEntity e, EventParticipant p where p.eventId = e.id and p.userId = :userId "
+            + "and e.startTime > :time order by e.startTime, e.id")
+    List<Long> findRegisteredIdsStartingAfter(@Param("userId") Long userId,
+                                              @Param("time") LocalDateTime time,
+                                              Pageable pageable);
+
+    /**
+     * Gets a page of the IDs of the events a user is registered for which started at or before the given time, most
+     * recent first.
+     *
+     * @param userId User ID
+     * @param time start time upper bound (inclusive)
+     * @param pageable page
+     * @return list of Event IDs
+     */
+    @Query("select e.id from EventEntity e, EventParticipant p where p.eventId = e.id and p.userId = :userId "
+            + "and e.startTime <= :time order by e.startTime desc, e.id desc")
+    List<Long> findRegisteredIdsStartingAtOrBefore(@Param("userId") Long userId,
+                                                   @Param("time") LocalDateTime time,
+                                                   Pageable pageable);
+
+    /**
+     * Searches event titles using the FT_EVENT_TITLE full-text index, most relevant first (then latest first).
+     * Note: MySQL only.
+     *
+     * @param query boolean mode full-text query (ex: +weather* +front*)
+     * @param type optional EventType name
+     * @param leader optional leader
+     * @param pageable page
+     * @return list of Events
+     */
+    @Query(value = "select * from event e where match (e.title) against (:query in boolean mode) "
+            + "and (:type is null or e.type = :type) and (:leader is null or e.leader = :leader) "
+            + "order by match (e.title) against (:query in boolean mode) desc, e.start_time desc",
+            nativeQuery = true)
+    List<EventEntity> searchByTitle(@Param("query") String query,
+                                    @Param("type") String type,
+                                    @Param("leader") Long leader,
+                                    Pageable pageable);
+
+    /**
+     * Gets events which are in progress.
+     *
+     * @return list of Events
+     */
+    List<EventEntity> findByStartedTrueAndCompletedFalse();
+
+    /**
+     * Gets events which are in progress and have a check-in code.
+     *
+     * @return list of Events
+     */
+    List<EventEntity> findByStartedTrueAndCompletedFalseAndCheckinCodeNotNull();
+
     /**
      * Saves an event.
      *
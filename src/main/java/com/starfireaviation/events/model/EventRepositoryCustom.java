@@ -0,0 +1,89 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventRepositoryCustom - conditional single-row updates of an event. They run outside Hibernate, so only the
+ * updated event's second-level cache entry is evicted, rather than the whole EventEntity region.
+ * Note: the state and counter columns they change are not updatable through the entity, so they only increment the
+ * version when they change the start time, which a full-row update could otherwise overwrite.
+ */
+public interface EventRepositoryCustom {
+
+    /**
+     * Starts an event, provided it has not already been started.
+     *
+     * @param id Event ID
+     * @param startTime start time
+     * @return number of rows updated (0 when the event was already started)
+     */
+    int markStarted(Long id, LocalDateTime startTime);
+
+    /**
+     * Completes an event, provided it has not already been completed. An event which was never started is
+     * started at its completion time.
+     *
+     * @param id Event ID
+     * @param completedTime completion time
+     * @return number of rows updated (0 when the event was already completed)
+     */
+    int markCompleted(Long id, LocalDateTime completedTime);
+
+    /**
+     * Atomically increments an event's participant count, provided the event has not reached its capacity.
+     *
+     * @param id Event ID
+     * @return number of rows updated (0 when the event is full)
+     */
+    int reserveSeat(Long id);
+
+    /**
+     * Atomically decrements an event's participant count.
+     *
+     * @param id Event ID
+     * @param amount number of participants removed
+     * @return number of rows updated
+     */
+    int decrementParticipantCount(Long id, int amount);
+
+    /**
+     * Sets an event's capacity.
+     *
+     * @param id Event ID
+     * @param capacity capacity, or null when unlimited
+     * @return number of rows updated
+     */
+    int updateCapacity(Long id, Integer capacity);
+
+    /**
+     * Sets the check-in code of an event which is in progress.
+     *
+     * @param id Event ID
+     * @param checkinCode check-in code
+     * @return number of rows updated (0 when the event is not in progress)
+     */
+    int updateCheckinCode(Long id, String checkinCode);
+
+    /**
+     * Evicts an event's second-level cache entry.
+     *
+     * @param id Event ID
+     */
+    void evict(Long id);
+}
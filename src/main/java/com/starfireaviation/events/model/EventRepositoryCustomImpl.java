@@ -0,0 +1,187 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * EventRepositoryCustomImpl.
+ */
+class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    /**
+     * Start transition.
+     */
+    private static final String MARK_STARTED = "UPDATE event SET version = version + 1, started = TRUE, "
+            + "start_time = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND started = FALSE";
+
+    /**
+     * Completion transition.
+     * Note: version and start_time are assigned before started, as MySQL evaluates assignments left to right.
+     */
+    private static final String MARK_COMPLETED = "UPDATE event "
+            + "SET version = version + CASE WHEN started = FALSE THEN 1 ELSE 0 END, "
+            + "start_time = CASE WHEN started = FALSE THEN ? ELSE start_time END, started = TRUE, completed = TRUE, "
+            + "completed_time = ?, checkin_code = NULL, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ? AND completed = FALSE";
+
+    /**
+     * Seat reservation.
+     */
+    private static final String RESERVE_SEAT = "UPDATE event SET participant_count = participant_count + 1 "
+            + "WHERE id = ? AND (capacity IS NULL OR participant_count < capacity)";
+
+    /**
+     * Seat release.
+     */
+    private static final String DECREMENT_PARTICIPANT_COUNT = "UPDATE event "
+            + "SET participant_count = participant_count - ? WHERE id = ? AND participant_count >= ?";
+
+    /**
+     * Capacity change.
+     */
+    private static final String UPDATE_CAPACITY = "UPDATE event SET capacity = ?, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ?";
+
+    /**
+     * Check-in code change of an event in progress.
+     */
+    private static final String UPDATE_CHECKIN_CODE = "UPDATE event SET checkin_code = ?, "
+            + "updated_at = CURRENT_TIMESTAMP WHERE id = ? AND started = TRUE AND completed = FALSE";
+
+    /**
+     * JdbcTemplate.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * CacheEvictor.
+     */
+    private final CacheEvictor cacheEvictor;
+
+    /**
+     * EventRepositoryCustomImpl.
+     *
+     * @param jdbc JdbcTemplate
+     * @param emf EntityManagerFactory
+     */
+    EventRepositoryCustomImpl(final JdbcTemplate jdbc, final EntityManagerFactory emf) {
+        jdbcTemplate = jdbc;
+        cacheEvictor = new CacheEvictor(emf);
+    }
+
+    /**
+     * Starts an event, provided it has not already been started, then evicts its cached entry.
+     *
+     * @param id Event ID
+     * @param startTime start time
+     * @return number of rows updated (0 when the event was already started)
+     */
+    @Override
+    public int markStarted(final Long id, final LocalDateTime startTime) {
+        return evicted(id, jdbcTemplate.update(MARK_STARTED, Timestamp.valueOf(startTime), id));
+    }
+
+    /**
+     * Completes an event, provided it has not already been completed, then evicts its cached entry.
+     *
+     * @param id Event ID
+     * @param completedTime completion time
+     * @return number of rows updated (0 when the event was already completed)
+     */
+    @Override
+    public int markCompleted(final Long id, final LocalDateTime completedTime) {
+        final Timestamp time = Timestamp.valueOf(completedTime);
+        return evicted(id, jdbcTemplate.update(MARK_COMPLETED, time, time, id));
+    }
+
+    /**
+     * Atomically increments an event's participant count, provided the event has not reached its capacity, then
+     * evicts its cached entry.
+     *
+     * @param id Event ID
+     * @return number of rows updated (0 when the event is full)
+     */
+    @Override
+    public int reserveSeat(final Long id) {
+        return evicted(id, jdbcTemplate.update(RESERVE_SEAT, id));
+    }
+
+    /**
+     * Atomically decrements an event's participant count, then evicts its cached entry.
+     *
+     * @param id Event ID
+     * @param amount number of participants removed
+     * @return number of rows updated
+     */
+    @Override
+    public int decrementParticipantCount(final Long id, final int amount) {
+        return evicted(id, jdbcTemplate.update(DECREMENT_PARTICIPANT_COUNT, amount, id, amount));
+    }
+
+    /**
+     * Sets an event's capacity, then evicts its cached entry.
+     *
+     * @param id Event ID
+     * @param capacity capacity, or null when unlimited
+     * @return number of rows updated
+     */
+    @Override
+    public int updateCapacity(final Long id, final Integer capacity) {
+        return evicted(id, jdbcTemplate.update(UPDATE_CAPACITY, capacity, id));
+    }
+
+    /**
+     * Sets the check-in code of an event which is in progress, then evicts its cached entry.
+     *
+     * @param id Event ID
+     * @param checkinCode check-in code
+     * @return number of rows updated (0 when the event is not in progress)
+     */
+    @Override
+    public int updateCheckinCode(final Long id, final String checkinCode) {
+        return evicted(id, jdbcTemplate.update(UPDATE_CHECKIN_CODE, checkinCode, id));
+    }
+
+    /**
+     * Evicts an event's second-level cache entry.
+     *
+     * @param id Event ID
+     */
+    @Override
+    public void evict(final Long id) {
+        cacheEvictor.evictEntity(EventEntity.class, id);
+    }
+
+    /**
+     * Evicts an event's cached entry when an update changed it.
+     *
+     * @param id Event ID
+     * @param updated number of rows updated
+     * @return updated
+     */
+    private int evicted(final Long id, final int updated) {
+        if (updated > 0) {
+            cacheEvictor.evictEntity(EventEntity.class, id);
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import com.starfireaviation.common.CommonConstants;
+import com.starfireaviation.common.model.EventType;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Recurring event series. Its occurrences are expanded from the recurrence rule on demand; an occurrence is stored
+ * as an EventEntity only once it carries state of its own (registrations, votes, started or completed).
+ */
+@Data
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "EVENT_SERIES")
+public class EventSeries implements Serializable {
+
+    /**
+     * Default SerialVersionUID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * ID.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Version, incremented on every update (optimistic locking).
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Created At.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreatedDate
+    private Date createdAt = new Date();
+
+    /**
+     * Updated At.
+     */
+    @Column(name = "updated_at", nullable = false)
+    @LastModifiedDate
+    private Date updatedAt = new Date();
+
+    /**
+     * Title of each occurrence.
+     */
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    /**
+     * Calendar URL.
+     */
+    @Column(name = "calendar_url")
+    private String calendarUrl;
+
+    /**
+     * Checkin code required?
+     */
+    @Column(name = "checkin_code_required", nullable = false)
+    private boolean checkinCodeRequired = false;
+
+    /**
+     * Private event?
+     */
+    @Column(name = "private", nullable = false)
+    private boolean privateEvent = false;
+
+    /**
+     * EventType.
+     */
+    @Column(name = "type", length = CommonConstants.ONE_HUNDRED)
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    /**
+     * LessonPlan ID.
+     */
+    @Column(name = "lesson_plan_id", nullable = false)
+    private Long lessonPlanId;
+
+    /**
+     * Event lead (or primary instructor).
+     */
+    @Column(name = "leader", nullable = false)
+    private Long leader;
+
+    /**
+     * Maximum number of participants per occurrence, or null when unlimited.
+     */
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    /**
+     * Start of the first occurrence.
+     */
+    @Column(name = "first_start", nullable = false)
+    private LocalDateTime firstStart;
+
+    /**
+     * Frequency.
+     */
+    @Column(name = "frequency", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Frequency frequency;
+
+    /**
+     * Number of frequency units between occurrences.
+     */
+    @Column(name = "recurrence_interval", nullable = false)
+    private int interval = 1;
+
+    /**
+     * Number of occurrences, or null when the series is bounded by lastStart or not at all.
+     */
+    @Column(name = "occurrence_count")
+    private Integer count;
+
+    /**
+     * No occurrence starts after this, or null when the series is bounded by count or not at all.
+     */
+    @Column(name = "last_start")
+    private LocalDateTime lastStart;
+
+    /**
+     * Scheduled starts of cancelled occurrences.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "EVENT_SERIES_EXCEPTION", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "occurrence_start", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<LocalDateTime> exceptions = new HashSet<>();
+
+}
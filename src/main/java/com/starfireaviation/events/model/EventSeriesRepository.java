@@ -0,0 +1,92 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import com.starfireaviation.common.model.EventType;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventSeriesRepository extends Repository<EventSeries, Long> {
+
+    /**
+     * Gets a series.
+     *
+     * @param id Series ID
+     * @return EventSeries
+     */
+    Optional<EventSeries> findById(Long id);
+
+    /**
+     * Gets the public series of a type which may have occurrences after the given time, with their exceptions.
+     *
+     * @param eventType EventType
+     * @param after LocalDateTime
+     * @return list of EventSeries
+     */
+    @Query("select distinct s from EventSeries s left join fetch s.exceptions where s.eventType = :type "
+            + "and s.privateEvent = false and (s.lastStart is null or s.lastStart > :after)")
+    List<EventSeries> findPublicByEventTypeEndingAfter(@Param("type") EventType eventType,
+                                                       @Param("after") LocalDateTime after);
+
+    /**
+     * Gets the series a user leads which may have occurrences after the given time, with their exceptions.
+     *
+     * @param leader Leader User ID
+     * @param after LocalDateTime
+     * @return list of EventSeries
+     */
+    @Query("select distinct s from EventSeries s left join fetch s.exceptions where s.leader = :leader "
+            + "and (s.lastStart is null or s.lastStart > :after)")
+    List<EventSeries> findByLeaderEndingAfter(@Param("leader") Long leader, @Param("after") LocalDateTime after);
+
+    /**
+     * Gets the series which may have occurrences within a range, with their exceptions.
+     *
+     * @param from earliest start time (inclusive)
+     * @param to latest start time (inclusive)
+     * @param leader optional Leader User ID
+     * @param eventType optional EventType
+     * @return list of EventSeries
+     */
+    @Query("select distinct s from EventSeries s left join fetch s.exceptions where s.firstStart <= :to "
+            + "and (s.lastStart is null or s.lastStart >= :from) and (:leader is null or s.leader = :leader) "
+            + "and (:type is null or s.eventType = :type)")
+    List<EventSeries> findScheduledBetween(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("leader") Long leader,
+                                           @Param("type") EventType eventType);
+
+    /**
+     * Saves a series.
+     *
+     * @param series EventSeries
+     * @return EventSeries
+     */
+    EventSeries save(EventSeries series);
+
+    /**
+     * Deletes a series.
+     *
+     * @param series EventSeries
+     */
+    void delete(EventSeries series);
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import com.starfireaviation.common.model.EventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * EventSummary - closed projection of EventEntity selecting only the columns needed by list views.
+ */
+public interface EventSummary {
+
+    /**
+     * ID.
+     *
+     * @return ID
+     */
+    Long getId();
+
+    /**
+     * Title.
+     *
+     * @return title
+     */
+    String getTitle();
+
+    /**
+     * EventType.
+     *
+     * @return EventType
+     */
+    EventType getEventType();
+
+    /**
+     * Start time.
+     *
+     * @return start time
+     */
+    LocalDateTime getStartTime();
+
+    /**
+     * Private event?
+     *
+     * @return private event
+     */
+    boolean isPrivateEvent();
+
+    /**
+     * Event lead (or primary instructor).
+     *
+     * @return leader User ID
+     */
+    Long getLeader();
+
+    /**
+     * Number of registered participants.
+     *
+     * @return participant count
+     */
+    int getParticipantCount();
+
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * EventWaitlistRepository.
+ */
+public interface EventWaitlistRepository extends Repository<EventWaitlistEntry, Long> {
+
+    /**
+     * Gets the longest waiting entry for an event.
+     *
+     * @param eventId Event ID
+     * @return EventWaitlistEntry
+     */
+    Optional<EventWaitlistEntry> findFirstByEventIdOrderByIdAsc(Long eventId);
+
+    /**
+     * Is the user waitlisted for the given event?
+     *
+     * @param eventId Event ID
+     * @param userId User ID
+     * @return whether or not an entry exists
+     */
+    boolean existsByEventIdAndUserId(Long eventId, Long userId);
+
+    /**
+     * Deletes an entry. Used to claim an entry for promotion: only one caller observes a deleted row.
+     *
+     * @param id Long
+     * @return number of entries deleted
+     */
+    @Modifying
+    @Query("delete from EventWaitlistEntry w where w.id = :id")
+    int deleteEntryById(@Param("id") Long id);
+
+    /**
+     * Deletes all entries for the given event and user.
+     *
+     * @param eventId Event ID
+     * @param userId User ID
+     * @return number of entries deleted
+     */
+    @Modifying
+    @Query("delete from EventWaitlistEntry w where w.eventId = :eventId and w.userId = :userId")
+    int deleteByEventIdAndUserId(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    /**
+     * Saves an entry.
+     *
+     * @param entry EventWaitlistEntry
+     * @return EventWaitlistEntry
+     */
+    EventWaitlistEntry save(EventWaitlistEntry entry);
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * How often an event series recurs.
+ */
+public enum Frequency {
+
+    /**
+     * Every interval days.
+     */
+    DAILY(ChronoUnit.DAYS),
+
+    /**
+     * Every interval weeks, on the weekday of the first occurrence.
+     */
+    WEEKLY(ChronoUnit.WEEKS);
+
+    /**
+     * Unit of the series' interval.
+     */
+    private final ChronoUnit unit;
+
+    /**
+     * Frequency.
+     *
+     * @param chronoUnit ChronoUnit
+     */
+    Frequency(final ChronoUnit chronoUnit) {
+        unit = chronoUnit;
+    }
+
+    /**
+     * Gets the unit of the series' interval.
+     *
+     * @return ChronoUnit
+     */
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+}
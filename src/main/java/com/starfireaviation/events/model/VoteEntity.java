@@ -17,15 +17,21 @@
 package com.starfireaviation.events.model;
 
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.io.Serializable;
 import java.util.Date;
 
@@ -34,7 +40,11 @@ import java.util.Date;
  */
 @Data
 @Entity
-@Table(name = "VOTE")
+@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "VOTE",
+        uniqueConstraints = @UniqueConstraint(name = "UK_VOTE_EVENT_USER", columnNames = { "event_id", "user_id" }))
 public class VoteEntity implements Serializable {
 
     /**
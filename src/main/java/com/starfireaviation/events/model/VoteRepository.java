@@ -16,15 +16,19 @@
 
 package com.starfireaviation.events.model;
 
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * VoteRepository.
  */
-public interface VoteRepository extends Repository<VoteEntity, Long> {
+public interface VoteRepository extends Repository<VoteEntity, Long>, VoteRepositoryCustom {
 
     /**
      * Deletes a vote.
@@ -39,8 +43,21 @@ public interface VoteRepository extends Repository<VoteEntity, Long> {
      * @param eventId Long
      * @return list of Votes
      */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = VOTES_BY_EVENT_REGION)
+    })
     Optional<List<VoteEntity>> findByEventId(Long eventId);
 
+    /**
+     * Counts votes per event and lesson plan.
+     *
+     * @return list of VoteCount
+     */
+    @Query("select v.eventId as eventId, v.lessonPlanId as lessonPlanId, count(v) as votes from VoteEntity v "
+            + "group by v.eventId, v.lessonPlanId")
+    List<VoteCount> countAll();
+
     /**
      * Gets vote by event and user.
      *
@@ -50,6 +67,40 @@ public interface VoteRepository extends Repository<VoteEntity, Long> {
      */
     Optional<VoteEntity> findByEventIdAndUserId(Long eventId, Long userId);
 
+    /**
+     * Casts a user's vote for an event, replacing any earlier vote, with a single upsert. The earlier vote is read
+     * first (without locking), only to report the lesson plan it was for.
+     *
+     * @param eventId Long
+     * @param userId Long
+     * @param lessonPlanId Long
+     * @return LessonPlan ID of the replaced vote, if any
+     */
+    @Transactional
+    default Optional<Long> replace(final Long eventId, final Long userId, final Long lessonPlanId) {
+        final Optional<VoteEntity> previous = findByEventIdAndUserId(eventId, userId);
+        upsert(eventId, userId, lessonPlanId);
+        previous.ifPresent(vote -> evict(vote.getId()));
+        return previous.map(VoteEntity::getLessonPlanId);
+    }
+
+    /**
+     * Withdraws a user's vote for an event with a single delete by key.
+     *
+     * @param eventId Long
+     * @param userId Long
+     * @return LessonPlan ID of the withdrawn vote, if any
+     */
+    @Transactional
+    default Optional<Long> withdraw(final Long eventId, final Long userId) {
+        final Optional<VoteEntity> vote = findByEventIdAndUserId(eventId, userId);
+        if (vote.isEmpty() || deleteByKey(eventId, userId) == 0) {
+            return Optional.empty();
+        }
+        evict(vote.get().getId());
+        return vote.map(VoteEntity::getLessonPlanId);
+    }
+
     /**
      * Saves an event.
      *
@@ -0,0 +1,57 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+/**
+ * VoteRepositoryCustom - single-statement vote writes. They run outside Hibernate, so only the cached results of
+ * the votes-by-event query (VOTES_BY_EVENT_REGION) and the changed vote's entry are evicted, rather than the whole
+ * VoteEntity region.
+ */
+public interface VoteRepositoryCustom {
+
+    /**
+     * Query cache region of the votes-by-event query.
+     */
+    String VOTES_BY_EVENT_REGION = "votesByEvent";
+
+    /**
+     * Inserts a user's vote for an event, or replaces it if the user has already voted, in a single statement.
+     * Note: relies on the UK_VOTE_EVENT_USER unique key (migration V6).
+     *
+     * @param eventId Long
+     * @param userId Long
+     * @param lessonPlanId Long
+     * @return number of rows affected
+     */
+    int upsert(Long eventId, Long userId, Long lessonPlanId);
+
+    /**
+     * Deletes a user's vote for an event in a single statement.
+     *
+     * @param eventId Long
+     * @param userId Long
+     * @return number of votes deleted
+     */
+    int deleteByKey(Long eventId, Long userId);
+
+    /**
+     * Evicts a vote's second-level cache entry.
+     *
+     * @param id Vote ID
+     */
+    void evict(Long id);
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * VoteRepositoryCustomImpl.
+ */
+class VoteRepositoryCustomImpl implements VoteRepositoryCustom {
+
+    /**
+     * Vote upsert.
+     */
+    private static final String UPSERT = "INSERT INTO vote (created_at, updated_at, event_id, user_id, lesson_plan_id) "
+            + "VALUES (CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE lesson_plan_id = VALUES(lesson_plan_id), updated_at = VALUES(updated_at)";
+
+    /**
+     * Vote delete by key.
+     */
+    private static final String DELETE = "DELETE FROM vote WHERE event_id = ? AND user_id = ?";
+
+    /**
+     * JdbcTemplate.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * CacheEvictor.
+     */
+    private final CacheEvictor cacheEvictor;
+
+    /**
+     * VoteRepositoryCustomImpl.
+     *
+     * @param jdbc JdbcTemplate
+     * @param emf EntityManagerFactory
+     */
+    VoteRepositoryCustomImpl(final JdbcTemplate jdbc, final EntityManagerFactory emf) {
+        jdbcTemplate = jdbc;
+        cacheEvictor = new CacheEvictor(emf);
+    }
+
+    /**
+     * Upserts a vote, then evicts the cached votes-by-event query results.
+     *
+     * @param eventId Long
+     * @param userId Long
+     * @param lessonPlanId Long
+     * @return number of rows affected
+     */
+    @Override
+    public int upsert(final Long eventId, final Long userId, final Long lessonPlanId) {
+        final int affected = jdbcTemplate.update(UPSERT, eventId, userId, lessonPlanId);
+        cacheEvictor.evictQueryRegion(VOTES_BY_EVENT_REGION);
+        return affected;
+    }
+
+    /**
+     * Deletes a vote, then evicts the cached votes-by-event query results.
+     *
+     * @param eventId Long
+     * @param userId Long
+     * @return number of votes deleted
+     */
+    @Override
+    public int deleteByKey(final Long eventId, final Long userId) {
+        final int deleted = jdbcTemplate.update(DELETE, eventId, userId);
+        if (deleted > 0) {
+            cacheEvictor.evictQueryRegion(VOTES_BY_EVENT_REGION);
+        }
+        return deleted;
+    }
+
+    /**
+     * Evicts a vote's second-level cache entry.
+     *
+     * @param id Vote ID
+     */
+    @Override
+    public void evict(final Long id) {
+        cacheEvictor.evictEntity(VoteEntity.class, id);
+    }
+}
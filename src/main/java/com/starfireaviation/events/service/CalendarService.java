@@ -0,0 +1,334 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.hazelcast.map.IMap;
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventSeries;
+import org.springframework.util.DigestUtils;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CalendarService - renders iCalendar (RFC 5545) feeds of upcoming events per EventType and per user.
+ * Rendered feeds are cached with their ETag, so polling calendar clients cost a cache lookup and an ETag comparison.
+ * Event changes evict only the feeds which list the event; the cache's time to live drops events which have started.
+ * Occurrences of series which have not been materialized are listed alongside the events.
+ */
+public class CalendarService {
+
+    /**
+     * Maximum number of events per feed.
+     */
+    public static final int MAX_FEED_EVENTS = 200;
+
+    /**
+     * iCalendar line length limit (octets), beyond which lines are folded.
+     */
+    private static final int MAX_LINE_OCTETS = 75;
+
+    /**
+     * iCalendar UTC date-time format.
+     */
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    /**
+     * iCalendar line terminator.
+     */
+    private static final String CRLF = "\r\n";
+
+    /**
+     * EventService.
+     */
+    private final EventService eventService;
+
+    /**
+     * SeriesService.
+     */
+    private final SeriesService seriesService;
+
+    /**
+     * Rendered feeds. Key = "type:" + EventType or "user:" + User ID.
+     */
+    private final IMap<String, Feed> feeds;
+
+    /**
+     * CalendarService.
+     *
+     * @param eService EventService
+     * @param sService SeriesService
+     * @param feedCache rendered feed cache
+     */
+    public CalendarService(final EventService eService, final SeriesService sService,
+                           final IMap<String, Feed> feedCache) {
+        eventService = eService;
+        seriesService = sService;
+        feeds = feedCache;
+    }
+
+    /**
+     * Gets the feed of upcoming public events of a type.
+     *
+     * @param type EventType
+     * @return Feed
+     */
+    public Feed getTypeFeed(final EventType type) {
+        final String key = typeKey(type);
+        Feed feed = feeds.get(key);
+        if (feed == null) {
+            final LocalDateTime now = LocalDateTime.now();
+            feed = Feed.of(render(type + " events", SeriesService.merge(
+                    eventService.getUpcoming(type, MAX_FEED_EVENTS, EventEntity.class),
+                    seriesService.getUpcoming(type, now, MAX_FEED_EVENTS),
+                    EventEntity::getStartTime, MAX_FEED_EVENTS)));
+            feeds.set(key, feed);
+        }
+        return feed;
+    }
+
+    /**
+     * Gets the feed of upcoming events a user leads or participates in, and of the occurrences of series the user
+     * leads.
+     *
+     * @param userId User ID
+     * @return Feed
+     */
+    public Feed getUserFeed(final Long userId) {
+        final String key = userKey(userId);
+        Feed feed = feeds.get(key);
+        if (feed == null) {
+            final LocalDateTime now = LocalDateTime.now();
+            feed = Feed.of(render("My events", SeriesService.merge(
+                    eventService.getUpcomingForUser(userId, MAX_FEED_EVENTS),
+                    seriesService.getUpcomingForLeader(userId, now, MAX_FEED_EVENTS),
+                    EventEntity::getStartTime, MAX_FEED_EVENTS)));
+            feeds.set(key, feed);
+        }
+        return feed;
+    }
+
+    /**
+     * Evicts the feeds listing an event: its type's feed when public, and those of its leader and participants.
+     * Call after the change has been committed, with the event as it was before the change and again as it is after.
+     *
+     * @param event Event
+     */
+    public void invalidate(final EventEntity event) {
+        final Set<String> keys = new HashSet<>();
+        if (!event.isPrivateEvent() && event.getEventType() != null) {
+            keys.add(typeKey(event.getEventType()));
+        }
+        keys.add(userKey(event.getLeader()));
+        eventService.getParticipants(event.getId()).forEach(userId -> keys.add(userKey(userId)));
+        keys.forEach(feeds::delete);
+    }
+
+    /**
+     * Evicts the feeds listing the occurrences of a series: its type's feed when public, and its leader's.
+     * Call after the series has been stored, cancelled or deleted.
+     *
+     * @param series EventSeries
+     */
+    public void invalidate(final EventSeries series) {
+        if (!series.isPrivateEvent() && series.getEventType() != null) {
+            feeds.delete(typeKey(series.getEventType()));
+        }
+        feeds.delete(userKey(series.getLeader()));
+    }
+
+    /**
+     * Evicts the feeds of users whose participation changed.
+     *
+     * @param userIds User IDs
+     */
+    public void invalidateUsers(final Collection<Long> userIds) {
+        userIds.forEach(userId -> feeds.delete(userKey(userId)));
+    }
+
+    /**
+     * Renders events as an iCalendar. Event times are UTC.
+     *
+     * @param name calendar name
+     * @param events list of Events
+     * @return iCalendar
+     */
+    static String render(final String name, final List<EventEntity> events) {
+        final StringBuilder sb = new StringBuilder();
+        line(sb, "BEGIN:VCALENDAR");
+        line(sb, "VERSION:2.0");
+        line(sb, "PRODID:-//Starfire Aviation//Events//EN");
+        line(sb, "CALSCALE:GREGORIAN");
+        line(sb, "X-WR-CALNAME:" + escape(name));
+        for (final EventEntity event : events) {
+            line(sb, "BEGIN:VEVENT");
+            line(sb, "UID:" + uid(event) + "@events.starfireaviation.com");
+            line(sb, "DTSTAMP:" + DATE_TIME.format(event.getUpdatedAt().toInstant().atOffset(ZoneOffset.UTC)));
+            line(sb, "DTSTART:" + DATE_TIME.format(event.getStartTime()));
+            line(sb, "SUMMARY:" + escape(event.getTitle()));
+            if (event.getCalendarUrl() != null) {
+                line(sb, "URL:" + event.getCalendarUrl());
+            }
+            line(sb, "END:VEVENT");
+        }
+        line(sb, "END:VCALENDAR");
+        return sb.toString();
+    }
+
+    /**
+     * Unique identifier of an event. Occurrences of a series are identified by their series and scheduled start,
+     * so an occurrence keeps its identifier when materialized.
+     *
+     * @param event Event
+     * @return UID (without domain)
+     */
+    private static String uid(final EventEntity event) {
+        if (event.getSeriesId() != null && event.getOccurrenceStart() != null) {
+            return "series-" + event.getSeriesId() + "-" + DATE_TIME.format(event.getOccurrenceStart());
+        }
+        return "event-" + event.getId();
+    }
+
+    /**
+     * Appends a content line, folding it after every MAX_LINE_OCTETS octets.
+     *
+     * @param sb StringBuilder
+     * @param line content line
+     */
+    private static void line(final StringBuilder sb, final String line) {
+        int octets = 0;
+        for (int i = 0; i < line.length(); i = line.offsetByCodePoints(i, 1)) {
+            final String codePoint = new String(Character.toChars(line.codePointAt(i)));
+            final int length = codePoint.getBytes(StandardCharsets.UTF_8).length;
+            if (octets + length > MAX_LINE_OCTETS) {
+                // Continuation lines begin with a space, which counts towards their length
+                sb.append(CRLF).append(' ');
+                octets = 1;
+            }
+            sb.append(codePoint);
+            octets += length;
+        }
+        sb.append(CRLF);
+    }
+
+    /**
+     * Escapes an iCalendar TEXT value.
+     *
+     * @param text text
+     * @return escaped text
+     */
+    private static String escape(final String text) {
+        if (text == null) {
+            return "";
+        }
+        return text
+                .replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    /**
+     * Cache key of a type feed.
+     *
+     * @param type EventType
+     * @return key
+     */
+    private static String typeKey(final EventType type) {
+        return "type:" + type;
+    }
+
+    /**
+     * Cache key of a user feed.
+     *
+     * @param userId User ID
+     * @return key
+     */
+    private static String userKey(final Long userId) {
+        return "user:" + userId;
+    }
+
+    /**
+     * A rendered feed and its ETag.
+     */
+    public static final class Feed implements Serializable {
+
+        /**
+         * serialVersionUID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * iCalendar (UTF-8).
+         */
+        private final byte[] body;
+
+        /**
+         * ETag: hash of the body.
+         */
+        private final String etag;
+
+        /**
+         * Feed.
+         *
+         * @param content iCalendar (UTF-8)
+         * @param tag ETag
+         */
+        private Feed(final byte[] content, final String tag) {
+            body = content;
+            etag = tag;
+        }
+
+        /**
+         * Creates a Feed, computing its ETag.
+         *
+         * @param calendar iCalendar
+         * @return Feed
+         */
+        static Feed of(final String calendar) {
+            final byte[] content = calendar.getBytes(StandardCharsets.UTF_8);
+            return new Feed(content, DigestUtils.md5DigestAsHex(content));
+        }
+
+        /**
+         * Gets the body.
+         *
+         * @return iCalendar (UTF-8)
+         */
+        public byte[] getBody() {
+            return body.clone();
+        }
+
+        /**
+         * Gets the ETag.
+         *
+         * @return ETag
+         */
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
+import com.starfireaviation.common.CommonConstants;
+import com.starfireaviation.common.exception.AccessDeniedException;
+import com.starfireaviation.common.exception.ResourceNotFoundException;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CheckinService - issues check-in codes for events in progress and records attendance.
+ * Active codes are resolved through a Hazelcast index (code to Event ID) shared by all instances, so a check-in
+ * never reads EVENT. Attendance is appended to EVENT_ATTENDANCE before the check-in returns, with inserts which
+ * ignore repeated check-ins rather than reading them first. Concurrent check-ins share one batch (group commit):
+ * each queues its row, and the first to find no batch being written writes every queued row while the others wait
+ * for that batch rather than issuing their own insert.
+ */
+@Slf4j
+public class CheckinService {
+
+    /**
+     * Characters used in check-in codes (ambiguous characters such as 0/O and 1/I are left out).
+     */
+    private static final String CODE_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+
+    /**
+     * Attempts at finding an unused code before giving up.
+     */
+    private static final int MAX_CODE_ATTEMPTS = 100;
+
+    /**
+     * Attendance rows written per statement batch.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Parameter index of the check-in time in INSERT_ATTENDANCE.
+     */
+    private static final int CHECKED_IN_AT_INDEX = 3;
+
+    /**
+     * Attendance insert. Repeated check-ins by the same user are ignored.
+     */
+    private static final String INSERT_ATTENDANCE =
+            "INSERT IGNORE INTO event_attendance (event_id, user_id, checked_in_at) VALUES (?, ?, ?)";
+
+    /**
+     * Code generator.
+     */
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * EventRepository.
+     */
+    private final EventRepository eventRepository;
+
+    /**
+     * JdbcTemplate.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Attendance waiting to be written.
+     */
+    private final Queue<Attendance> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Held while a batch of attendance is written, so only one batch is written at a time.
+     */
+    private final Lock writeLock = new ReentrantLock();
+
+    /**
+     * Active check-in codes. Key = code; Value = Event ID.
+     */
+    private final IMap<String, Long> codes;
+
+    /**
+     * CheckinService.
+     *
+     * @param eRepository EventRepository
+     * @param jdbc JdbcTemplate
+     * @param checkinCodes active check-in codes
+     */
+    public CheckinService(final EventRepository eRepository,
+                          final JdbcTemplate jdbc,
+                          final IMap<String, Long> checkinCodes) {
+        eventRepository = eRepository;
+        jdbcTemplate = jdbc;
+        codes = checkinCodes;
+    }
+
+    /**
+     * Issues a check-in code for an event in progress. The code is unique among active events.
+     *
+     * @param eventId Event ID
+     * @return check-in code, or null when the event is no longer in progress
+     */
+    @Transactional
+    public String issueCode(final Long eventId) {
+        final String code = reserveCode(eventId);
+        if (eventRepository.updateCheckinCode(eventId, code) == 0) {
+            codes.delete(code);
+            return null;
+        }
+        return code;
+    }
+
+    /**
+     * Releases all check-in codes of an event.
+     *
+     * @param eventId Event ID
+     */
+    public void releaseCodes(final Long eventId) {
+        codes.removeAll(Predicates.equal("this", eventId));
+    }
+
+    /**
+     * Checks a user in to the event with the given active code.
+     *
+     * @param code check-in code
+     * @param userId User ID
+     * @return Event ID
+     * @throws ResourceNotFoundException when no event in progress has the code
+     */
+    public Long checkin(final String code, final Long userId) throws ResourceNotFoundException {
+        final Long eventId = codes.get(code.toUpperCase(Locale.ROOT));
+        if (eventId == null) {
+            throw new ResourceNotFoundException("Unknown check-in code");
+        }
+        recordAttendance(eventId, userId);
+        return eventId;
+    }
+
+    /**
+     * Checks a user in to an event in progress which does not require a check-in code.
+     *
+     * @param eventId Event ID
+     * @param userId User ID
+     * @return Event ID
+     * @throws ResourceNotFoundException when the event is not in progress
+     * @throws AccessDeniedException when the event requires a check-in code
+     */
+    public Long checkin(final Long eventId, final Long userId)
+            throws ResourceNotFoundException, AccessDeniedException {
+        final EventEntity event = eventRepository
+                .findById(eventId)
+                .filter(e -> e.isStarted() && !e.isCompleted())
+                .orElseThrow(() -> new ResourceNotFoundException("Event " + eventId + " is not in progress"));
+        if (event.isCheckinCodeRequired()) {
+            throw new AccessDeniedException("Event " + eventId + " requires a check-in code");
+        }
+        recordAttendance(eventId, userId);
+        return eventId;
+    }
+
+    /**
+     * Rebuilds the code index from events in progress, e.g. after the whole cluster was restarted. Failures are
+     * logged rather than thrown, so an unavailable database does not stop the application; the index is then
+     * rebuilt by the next member to start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        try {
+            final List<EventEntity> inProgress =
+                    eventRepository.findByStartedTrueAndCompletedFalseAndCheckinCodeNotNull();
+            inProgress.forEach(event -> codes.set(event.getCheckinCode(), event.getId()));
+            log.info("Indexed {} active check-in codes", inProgress.size());
+        } catch (RuntimeException re) {
+            log.warn("Unable to index active check-in codes: {}", re.getMessage());
+        }
+    }
+
+    /**
+     * Reserves an unused code in the index.
+     *
+     * @param eventId Event ID
+     * @return code
+     */
+    private String reserveCode(final Long eventId) {
+        for (int attempt = 0; attempt < MAX_CODE_ATTEMPTS; attempt++) {
+            final StringBuilder sb = new StringBuilder(CommonConstants.FOUR);
+            for (int i = 0; i < CommonConstants.FOUR; i++) {
+                sb.append(CODE_ALPHABET.charAt(random.nextInt(CODE_ALPHABET.length())));
+            }
+            final String code = sb.toString();
+            if (codes.putIfAbsent(code, eventId) == null) {
+                return code;
+            }
+        }
+        throw new IllegalStateException("No unused check-in code found after " + MAX_CODE_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * Appends attendance to EVENT_ATTENDANCE, returning once the batch it was queued in has been written.
+     *
+     * @param eventId Event ID
+     * @param userId User ID
+     */
+    private void recordAttendance(final Long eventId, final Long userId) {
+        final Attendance attendance = new Attendance(eventId, userId, LocalDateTime.now(), new CompletableFuture<>());
+        pending.add(attendance);
+        writeLock.lock();
+        try {
+            // Rows queued while the previous batch was written go out together; ours may already be among them
+            if (!attendance.written().isDone()) {
+                writeQueued();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            attendance.written().join();
+        } catch (CompletionException ce) {
+            throw (RuntimeException) ce.getCause();
+        }
+    }
+
+    /**
+     * Writes all queued attendance, completing each row's future once its batch has been written (or has failed).
+     * Note: the caller must hold writeLock.
+     */
+    private void writeQueued() {
+        final List<Attendance> batch = new ArrayList<>();
+        Attendance attendance = pending.poll();
+        while (attendance != null) {
+            batch.add(attendance);
+            attendance = pending.poll();
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_ATTENDANCE, batch, BATCH_SIZE, (ps, queued) -> {
+                ps.setLong(1, queued.eventId());
+                ps.setLong(2, queued.userId());
+                ps.setTimestamp(CHECKED_IN_AT_INDEX, Timestamp.valueOf(queued.checkedInAt()));
+            });
+        } catch (RuntimeException re) {
+            log.error("Unable to write {} attendance records", batch.size(), re);
+            batch.forEach(failed -> failed.written().completeExceptionally(re));
+            return;
+        }
+        batch.forEach(written -> written.written().complete(null));
+    }
+
+    /**
+     * Queued attendance.
+     *
+     * @param eventId Event ID
+     * @param userId User ID
+     * @param checkedInAt check-in time
+     * @param written completed once the row has been written
+     */
+    private record Attendance(Long eventId, Long userId, LocalDateTime checkedInAt,
+                              CompletableFuture<Void> written) {
+    }
+}
@@ -17,11 +17,16 @@
 package com.starfireaviation.events.service;
 
 import com.starfireaviation.common.model.User;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * DataService - calls to the users and lessons services. Each call is timed as events.dataservice, tagged with
+ * the call and, for failures, the exception.
+ */
 @Service
 public class DataService {
 
@@ -31,6 +36,7 @@ public class DataService {
      * @param name user name
      * @return User
      */
+    @Timed(value = "events.dataservice", extraTags = { "call", "getUserByName" })
     public User getUser(final String name) {
         // TODO call GET https://users.starfireaviation.com/api/users?username={name}
         final Long userId = null;
@@ -46,6 +52,7 @@ public class DataService {
      * @param userId user ID
      * @return User
      */
+    @Timed(value = "events.dataservice", extraTags = { "call", "getUserById" })
     public User getUser(final Long userId) {
         // TODO call GET https://users.starfireaviation.com/api/users/{userId}
         return null;
@@ -57,6 +64,7 @@ public class DataService {
      * @param lessonPlanId LessonPlan ID
      * @return if LessonPlan exists
      */
+    @Timed(value = "events.dataservice", extraTags = { "call", "existsLessonPlan" })
     public boolean existsLessonPlan(final Long lessonPlanId) {
         // TODO call GET https://lessons.starfireaviation.com/api/lessonplans/{lessonPlanId}
         return Boolean.FALSE;
@@ -67,6 +75,7 @@ public class DataService {
      *
      * @return list of LessonPlan IDs
      */
+    @Timed(value = "events.dataservice", extraTags = { "call", "getAllPresentableLessonPlans" })
     public List<Long> getAllPresentableLessonPlans() {
         // TODO call GET https://lessons.starfireaviation.com/api/lessonplans?group=PVT?presentable=true
         return new ArrayList<>();
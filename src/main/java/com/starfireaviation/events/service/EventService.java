@@ -16,29 +16,54 @@
 
 package com.starfireaviation.events.service;
 
+import com.starfireaviation.common.exception.ConflictException;
+import com.starfireaviation.common.model.EventType;
 import com.starfireaviation.common.model.Role;
 import com.starfireaviation.events.model.EventEntity;
 import com.starfireaviation.events.model.EventParticipant;
 import com.starfireaviation.events.model.EventParticipantRepository;
 import com.starfireaviation.events.model.EventRepository;
+import com.starfireaviation.events.model.EventWaitlistEntry;
+import com.starfireaviation.events.model.EventWaitlistRepository;
+import com.starfireaviation.events.model.RegistrationStatus;
 import com.starfireaviation.events.model.VoteEntity;
 import com.starfireaviation.events.model.VoteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * EventService.
+ * Note: read paths run in read-only transactions, which are served by the read replica when one is configured.
  */
+@Slf4j
 public class EventService {
 
+    /**
+     * Maximum number of attempts for an update which loses an optimistic locking race.
+     */
+    public static final int MAX_UPDATE_ATTEMPTS = 3;
+
     /**
      * EventRepository.
      */
@@ -59,22 +84,56 @@ public class EventService {
      */
     private final DataService dataService;
 
+    /**
+     * EventWaitlistRepository.
+     */
+    private final EventWaitlistRepository eventWaitlistRepository;
+
+    /**
+     * VoteTally.
+     */
+    private final VoteTally voteTally;
+
+    /**
+     * Duration of assign() runs.
+     */
+    private final Timer assignTimer;
+
+    /**
+     * Events processed by assign().
+     */
+    private final Counter assignedEvents;
+
     /**
      * EventService.
      *
      * @param eRepository EventRepository
      * @param vRepository VoteRepository
      * @param epRepository EventParticipantRepository
+     * @param ewRepository EventWaitlistRepository
      * @param dService DataService
+     * @param tally VoteTally
+     * @param registry MeterRegistry
      */
     public EventService(final EventRepository eRepository,
                         final VoteRepository vRepository,
                         final EventParticipantRepository epRepository,
-                        final DataService dService) {
+                        final EventWaitlistRepository ewRepository,
+                        final DataService dService,
+                        final VoteTally tally,
+                        final MeterRegistry registry) {
         eventRepository = eRepository;
         voteRepository = vRepository;
         eventParticipantRepository = epRepository;
+        eventWaitlistRepository = ewRepository;
         dataService = dService;
+        voteTally = tally;
+        assignTimer = Timer.builder("events.assign")
+                .description("Duration of lesson plan assignment runs")
+                .register(registry);
+        assignedEvents = Counter.builder("events.assign.events")
+                .description("Events processed by lesson plan assignment")
+                .register(registry);
     }
 
     /**
@@ -90,16 +149,106 @@ public class EventService {
         return eventRepository.save(event);
     }
 
+    /**
+     * Starts an event. Only the first of several concurrent callers performs the transition.
+     *
+     * @param id Event ID
+     * @param startTime start time
+     * @return true when this call started the event, false when it had already been started
+     */
+    @Transactional
+    public boolean start(final long id, final LocalDateTime startTime) {
+        return transitioned(id, eventRepository.markStarted(id, startTime));
+    }
+
+    /**
+     * Completes an event. Only the first of several concurrent callers performs the transition. An event which was
+     * never started is started at its completion time.
+     *
+     * @param id Event ID
+     * @param completedTime completion time
+     * @return true when this call completed the event, false when it had already been completed
+     */
+    @Transactional
+    public boolean complete(final long id, final LocalDateTime completedTime) {
+        return transitioned(id, eventRepository.markCompleted(id, completedTime));
+    }
+
+    /**
+     * Interprets the result of a conditional state transition.
+     *
+     * @param id Event ID
+     * @param updated number of rows updated
+     * @return true when the transition happened
+     */
+    private boolean transitioned(final long id, final int updated) {
+        if (updated > 0) {
+            return true;
+        }
+        if (!eventRepository.existsById(id)) {
+            throw new NoSuchElementException("Event " + id + " not found");
+        }
+        return false;
+    }
+
+    /**
+     * Updates an event, re-reading and re-applying the mutation when a concurrent writer wins the race.
+     *
+     * @param id Event ID
+     * @param mutation changes to apply
+     * @return updated Event
+     * @throws ConflictException when the update still conflicts after MAX_UPDATE_ATTEMPTS
+     */
+    public EventEntity update(final long id, final Consumer<EventEntity> mutation) throws ConflictException {
+        return update(id, null, mutation);
+    }
+
+    /**
+     * Updates an event, re-reading and re-applying the mutation when a concurrent writer wins the race.
+     * Note: when the caller supplies the version it last read, a mismatch is the caller's conflict and is not
+     * retried. The event is read from the primary, so a lagging replica cannot cause spurious conflicts.
+     *
+     * @param id Event ID
+     * @param expectedVersion version last read by the client, or null
+     * @param mutation changes to apply
+     * @return updated Event
+     * @throws ConflictException when expectedVersion is stale, or the update still conflicts after
+     *                           MAX_UPDATE_ATTEMPTS
+     */
+    public EventEntity update(final long id, final Long expectedVersion, final Consumer<EventEntity> mutation)
+            throws ConflictException {
+        for (int attempt = 1;; attempt++) {
+            final EventEntity event = eventRepository.findForUpdate(id).orElseThrow();
+            if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+                throw new ConflictException(String.format(
+                        "Event [%s] is at version [%s], not [%s]", id, event.getVersion(), expectedVersion));
+            }
+            mutation.accept(event);
+            try {
+                final EventEntity saved = eventRepository.save(event);
+                // The state and counter columns are not saved, so the entry cached by save may hold stale ones
+                eventRepository.evict(id);
+                return saved;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw new ConflictException(String.format(
+                            "Event [%s] was concurrently modified; gave up after %s attempts", id, attempt));
+                }
+                log.debug("Retrying update of event [{}] after optimistic locking failure", id);
+            }
+        }
+    }
+
     /**
      * Deletes a event.
      *
      * @param id Long
+     * @return deleted Event
      */
-    public void delete(final long id) {
-        final EventEntity event = get(id);
-        if (event != null) {
-            eventRepository.delete(event);
-        }
+    public EventEntity delete(final long id) {
+        final EventEntity event = eventRepository.findForUpdate(id).orElseThrow();
+        eventRepository.delete(event);
+        return event;
     }
 
     /**
@@ -107,54 +256,240 @@ public class EventService {
      *
      * @return list of Event
      */
+    @Transactional(readOnly = true)
     public List<EventEntity> getAll() {
         return eventRepository.findAll().orElse(new ArrayList<>());
     }
 
+    /**
+     * Gets all events as the given projection.
+     *
+     * @param type projection type
+     * @param <T> projection type
+     * @return list of projections
+     */
+    @Transactional(readOnly = true)
+    public <T> List<T> getAll(final Class<T> type) {
+        return eventRepository.findAllBy(type);
+    }
+
+    /**
+     * Gets the events with the given IDs.
+     *
+     * @param ids Event IDs
+     * @return list of Events (missing IDs are skipped)
+     */
+    @Transactional(readOnly = true)
+    public List<EventEntity> getAll(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return eventRepository.findAllById(ids);
+    }
+
+    /**
+     * Gets the next public events of a type, ordered by start time.
+     *
+     * @param eventType EventType
+     * @param count maximum number of events
+     * @param type projection type
+     * @param <T> projection type
+     * @return list of projections
+     */
+    @Transactional(readOnly = true)
+    public <T> List<T> getUpcoming(final EventType eventType, final int count, final Class<T> type) {
+        return eventRepository.findByEventTypeAndPrivateEventFalseAndStartTimeAfter(
+                eventType,
+                LocalDateTime.now(),
+                PageRequest.of(0, count, Sort.by("startTime")),
+                type);
+    }
+
+    /**
+     * Gets the next events a user leads or participates in, private events included, ordered by start time.
+     *
+     * @param userId User ID
+     * @param count maximum number of events
+     * @return list of Events
+     */
+    @Transactional(readOnly = true)
+    public List<EventEntity> getUpcomingForUser(final Long userId, final int count) {
+        return eventRepository.findUpcomingByUser(userId, LocalDateTime.now(), PageRequest.of(0, count));
+    }
+
+    /**
+     * Searches events by title. Every word of the query must match the start of a word of the title.
+     *
+     * @param query search text
+     * @param eventType optional EventType
+     * @param leader optional leader
+     * @param page page number, from 0
+     * @param size page size
+     * @return list of Events, most relevant first; empty when the query has no words
+     */
+    @Transactional(readOnly = true)
+    public List<EventEntity> search(final String query, final EventType eventType, final Long leader,
+                                    final int page, final int size) {
+        final String booleanQuery = toBooleanQuery(query);
+        if (booleanQuery.isEmpty()) {
+            return List.of();
+        }
+        String type = null;
+        if (eventType != null) {
+            type = eventType.name();
+        }
+        return eventRepository.searchByTitle(booleanQuery, type, leader, PageRequest.of(page, size));
+    }
+
+    /**
+     * Converts search text into a boolean mode full-text query requiring a prefix match of each word. Full-text
+     * operators in the text are dropped, as they would otherwise be interpreted.
+     *
+     * @param query search text
+     * @return boolean mode query (ex: "+weather* +front*")
+     */
+    static String toBooleanQuery(final String query) {
+        if (query == null) {
+            return "";
+        }
+        return Arrays.stream(query.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> "+" + word + "*")
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Gets events which have been started but not completed.
+     *
+     * @return list of Events
+     */
+    @Transactional(readOnly = true)
+    public List<EventEntity> getInProgress() {
+        return eventRepository.findByStartedTrueAndCompletedFalse();
+    }
+
+    /**
+     * Gets a event as the given projection.
+     *
+     * @param id Long
+     * @param type projection type
+     * @param <T> projection type
+     * @return projection
+     */
+    @Transactional(readOnly = true)
+    public <T> T get(final long id, final Class<T> type) {
+        return eventRepository.findProjectedById(id, type).orElseThrow();
+    }
+
     /**
      * Gets a event.
      *
      * @param id Long
      * @return Event
      */
+    @Transactional(readOnly = true)
     public EventEntity get(final long id) {
         return eventRepository.findById(id).orElseThrow();
     }
 
     /**
-     * Register a user for an event.
+     * Register a user for an event, or waitlist them when the event is full.
+     * Note: a seat is reserved with a single conditional update of the event's participant count, so concurrent
+     * registrations cannot exceed the event's capacity.
      *
      * @param eventId Event ID
      * @param userId  User ID
+     * @return RegistrationStatus
      */
-    public void register(final Long eventId, final Long userId) {
-        final Optional<EventParticipant> eventParticipantOpt = eventParticipantRepository.findByUserId(userId)
-                .orElse(new ArrayList<>())
-                .stream()
-                .filter(eventParticipant -> eventParticipant.getEventId() == eventId)
-                .findFirst();
-        if (eventParticipantOpt.isEmpty()) {
-            final EventParticipant eventParticipant = new EventParticipant();
-            eventParticipant.setEventId(eventId);
-            eventParticipant.setUserId(userId);
-            eventParticipant.setCreatedAt(new Date());
-            eventParticipant.setUpdatedAt(new Date());
-            eventParticipantRepository.save(eventParticipant);
+    @Transactional
+    public RegistrationStatus register(final Long eventId, final Long userId) {
+        if (eventParticipantRepository.existsByEventIdAndUserId(eventId, userId)) {
+            return RegistrationStatus.ALREADY_REGISTERED;
+        }
+        if (eventWaitlistRepository.existsByEventIdAndUserId(eventId, userId)) {
+            return RegistrationStatus.WAITLISTED;
+        }
+        if (eventRepository.reserveSeat(eventId) == 0) {
+            final EventWaitlistEntry entry = new EventWaitlistEntry();
+            entry.setEventId(eventId);
+            entry.setUserId(userId);
+            eventWaitlistRepository.save(entry);
+            return RegistrationStatus.WAITLISTED;
         }
+        addParticipant(eventId, userId);
+        return RegistrationStatus.REGISTERED;
     }
 
     /**
-     * Unregister a user from an event.
+     * Unregister a user from an event (or its waitlist), promoting the longest waiting user into a freed seat.
      *
      * @param eventId Event ID
      * @param userId  User ID
+     * @return IDs of the users promoted from the waitlist
      */
-    public void unregister(final Long eventId, final Long userId) {
-        eventParticipantRepository.findByUserId(userId)
-                .orElse(new ArrayList<>())
-                .stream()
-                .filter(eventParticipant -> eventParticipant.getEventId() == eventId)
-                .forEach(eventParticipantRepository::delete);
+    @Transactional
+    public List<Long> unregister(final Long eventId, final Long userId) {
+        final int removed = eventParticipantRepository.deleteByEventIdAndUserId(eventId, userId);
+        if (removed > 0) {
+            eventRepository.decrementParticipantCount(eventId, removed);
+            return promoteWaitlisted(eventId);
+        }
+        eventWaitlistRepository.deleteByEventIdAndUserId(eventId, userId);
+        return new ArrayList<>();
+    }
+
+    /**
+     * Sets an event's capacity, promoting waitlisted users into any seats this frees.
+     *
+     * @param eventId Event ID
+     * @param capacity capacity, or null when unlimited
+     * @return IDs of the users promoted from the waitlist
+     */
+    @Transactional
+    public List<Long> setCapacity(final Long eventId, final Integer capacity) {
+        if (eventRepository.updateCapacity(eventId, capacity) > 0) {
+            return promoteWaitlisted(eventId);
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Promotes waitlisted users, in arrival order, for as long as seats can be reserved.
+     * Note: each seat is reserved with the same conditional update as register, and each entry is claimed with a
+     * delete by ID which only one of several concurrent promotions can win.
+     *
+     * @param eventId Event ID
+     * @return IDs of the promoted users
+     */
+    private List<Long> promoteWaitlisted(final Long eventId) {
+        final List<Long> promoted = new ArrayList<>();
+        Optional<EventWaitlistEntry> next = eventWaitlistRepository.findFirstByEventIdOrderByIdAsc(eventId);
+        while (next.isPresent() && eventRepository.reserveSeat(eventId) > 0) {
+            if (eventWaitlistRepository.deleteEntryById(next.get().getId()) > 0) {
+                addParticipant(eventId, next.get().getUserId());
+                promoted.add(next.get().getUserId());
+            } else {
+                // Entry was claimed by a concurrent promotion; release the seat reserved for it
+                eventRepository.decrementParticipantCount(eventId, 1);
+            }
+            next = eventWaitlistRepository.findFirstByEventIdOrderByIdAsc(eventId);
+        }
+        return promoted;
+    }
+
+    /**
+     * Adds a participant to an event. The caller must already have reserved the seat.
+     *
+     * @param eventId Event ID
+     * @param userId  User ID
+     */
+    private void addParticipant(final Long eventId, final Long userId) {
+        final EventParticipant eventParticipant = new EventParticipant();
+        eventParticipant.setEventId(eventId);
+        eventParticipant.setUserId(userId);
+        eventParticipant.setCreatedAt(new Date());
+        eventParticipant.setUpdatedAt(new Date());
+        eventParticipantRepository.save(eventParticipant);
     }
 
     /**
@@ -164,11 +499,20 @@ public class EventService {
      * @param userId  User ID
      * @return whether or not user is registered
      */
+    @Transactional(readOnly = true)
     public boolean isRegistered(final Long eventId, final Long userId) {
-        return eventParticipantRepository.findByUserId(userId)
-                .orElse(new ArrayList<>())
-                .stream()
-                .anyMatch(eventParticipant -> eventParticipant.getEventId() == eventId);
+        return eventParticipantRepository.existsByEventIdAndUserId(eventId, userId);
+    }
+
+    /**
+     * Gets the number of participants registered for an event.
+     *
+     * @param eventId Event ID
+     * @return participant count
+     */
+    @Transactional(readOnly = true)
+    public int getParticipantCount(final Long eventId) {
+        return get(eventId).getParticipantCount();
     }
 
     /**
@@ -177,6 +521,7 @@ public class EventService {
      * @param eventId Event ID
      * @return list of User IDs
      */
+    @Transactional(readOnly = true)
     public List<Long> getAllSupportingInstructors(final Long eventId) {
         final Long eventLead = get(eventId).getLeader();
         return getParticipants(eventId)
@@ -193,6 +538,7 @@ public class EventService {
      * @param eventId Event ID
      * @return list of user IDs
      */
+    @Transactional(readOnly = true)
     public List<Long> getParticipants(final Long eventId) {
         return eventParticipantRepository.findByEventId(eventId)
                 .orElse(new ArrayList<>())
@@ -201,6 +547,67 @@ public class EventService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Gets a page of the IDs of the events a user is registered for, by start time.
+     *
+     * @param userId User ID
+     * @param page page number, from 0
+     * @param size page size
+     * @return list of Event IDs
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getRegisteredEventIds(final Long userId, final int page, final int size) {
+        return eventRepository.findRegisteredIds(userId, PageRequest.of(page, size));
+    }
+
+    /**
+     * Gets a page of the IDs of the upcoming events a user is registered for, soonest first.
+     *
+     * @param userId User ID
+     * @param now current time
+     * @param page page number, from 0
+     * @param size page size
+     * @return list of Event IDs
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getUpcomingRegisteredEventIds(final Long userId, final LocalDateTime now, final int page,
+                                                    final int size) {
+        return eventRepository.findRegisteredIdsStartingAfter(userId, now, PageRequest.of(page, size));
+    }
+
+    /**
+     * Gets a page of the IDs of the past events a user is registered for, most recent first.
+     *
+     * @param userId User ID
+     * @param now current time
+     * @param page page number, from 0
+     * @param size page size
+     * @return list of Event IDs
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getPastRegisteredEventIds(final Long userId, final LocalDateTime now, final int page,
+                                                final int size) {
+        return eventRepository.findRegisteredIdsStartingAtOrBefore(userId, now, PageRequest.of(page, size));
+    }
+
+    /**
+     * Get participant lists for several events with a single query.
+     *
+     * @param eventIds Event IDs
+     * @return Key = Event ID; Value = list of User IDs (events without participants are absent)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Long>> getParticipants(final Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return eventParticipantRepository
+                .findByEventIdIn(eventIds)
+                .stream()
+                .collect(Collectors.groupingBy(EventParticipant::getEventId,
+                        Collectors.mapping(EventParticipant::getUserId, Collectors.toList())));
+    }
+
     /**
      * Votes for a lesson to be presented at an event.
      * Note: Only 1 vote can be cast per user per event.
@@ -210,12 +617,9 @@ public class EventService {
      * @param userId User ID - user casting vote
      */
     public void vote(final Long eventId, final Long userId, final Long lessonPlanId) {
-        final VoteEntity vote = voteRepository.findByEventIdAndUserId(eventId, userId).orElse(new VoteEntity());
-        if (!Objects.equals(lessonPlanId, vote.getLessonPlanId()) && dataService.existsLessonPlan(lessonPlanId)) {
-            vote.setEventId(eventId);
-            vote.setUserId(userId);
-            vote.setLessonPlanId(lessonPlanId);
-            voteRepository.save(vote);
+        if (dataService.existsLessonPlan(lessonPlanId)) {
+            final Long previousLessonPlanId = voteRepository.replace(eventId, userId, lessonPlanId).orElse(null);
+            voteTally.recordVote(eventId, previousLessonPlanId, lessonPlanId);
         }
     }
 
@@ -227,7 +631,19 @@ public class EventService {
      * @param userId User ID - user casting vote
      */
     public void withdrawVote(final Long eventId, final Long userId) {
-        voteRepository.findByEventIdAndUserId(eventId, userId).ifPresent(voteRepository::delete);
+        voteRepository
+                .withdraw(eventId, userId)
+                .ifPresent(lessonPlanId -> voteTally.recordWithdrawal(eventId, lessonPlanId));
+    }
+
+    /**
+     * Gets the live vote tally for an event.
+     *
+     * @param eventId Event ID
+     * @return Key = LessonPlan ID; Value = votes, highest first
+     */
+    public Map<Long, Long> getVoteTally(final Long eventId) {
+        return voteTally.getTally(eventId);
     }
 
     /**
@@ -235,51 +651,71 @@ public class EventService {
      * presentations.
      */
     public void assign() {
-        eventRepository.findAll().orElse(new ArrayList<>()).forEach(event -> {
-            final Map<Long, Long> tally = new HashMap<>();
-            voteRepository
-                    .findByEventId(event.getId())
-                    .orElse(new ArrayList<>())
-                    .forEach(vote -> tally.put(vote.getLessonPlanId(),
-                            tally.getOrDefault(vote.getLessonPlanId(), 0L) + 1));
-            Long winningLessonPlanId = Long.MIN_VALUE;
-            Long highestCount = Long.MIN_VALUE;
-            for (Map.Entry<Long, Long> entry : tally.entrySet()) {
-                if (entry.getValue() > highestCount) {
-                    winningLessonPlanId = entry.getKey();
-                    highestCount = entry.getValue();
-                }
+        assignTimer.record(() -> eventRepository.findAll().orElse(new ArrayList<>()).forEach(event -> {
+            Long lessonPlanId = tallyVotes(voteRepository.findByEventId(event.getId()).orElse(new ArrayList<>()));
+            if (lessonPlanId <= 0) {
+                lessonPlanId = leastPresented(
+                        countPresentations(eventRepository.findAll().orElse(new ArrayList<>()), event.getStartTime()),
+                        dataService.getAllPresentableLessonPlans());
             }
-            if (winningLessonPlanId > 0) {
-                event.setLessonPlanId(winningLessonPlanId);
-                eventRepository.save(event);
-            } else {
-                final Map<Long, Long> previousPresentationMap = getPastLessonPlanPresentationCounts(event);
-                // TreeMap Key = Count; Value = LessonPlan ID
-                final TreeMap<Long, Long> map = new TreeMap<>();
-                dataService
-                        .getAllPresentableLessonPlans()
-                        .forEach(lpId -> map.put(previousPresentationMap.getOrDefault(lpId, 0L), lpId));
-                event.setLessonPlanId(map.get(map.firstKey()));
-                eventRepository.save(event);
+            final Long assigned = lessonPlanId;
+            try {
+                update(event.getId(), e -> e.setLessonPlanId(assigned));
+            } catch (ConflictException ce) {
+                log.warn("Unable to assign lesson plan to event [{}]: {}", event.getId(), ce.getMessage());
             }
-        });
+            assignedEvents.increment();
+        }));
     }
 
     /**
-     * Gets a map of the number of times each lesson plan has been presented previously.
+     * Determines the lesson plan with the most votes.
+     *
+     * @param votes list of Votes
+     * @return LessonPlan ID, or Long.MIN_VALUE when there are no votes
+     */
+    static Long tallyVotes(final List<VoteEntity> votes) {
+        final Map<Long, Long> tally = new HashMap<>();
+        votes.forEach(vote -> tally.put(vote.getLessonPlanId(), tally.getOrDefault(vote.getLessonPlanId(), 0L) + 1));
+        Long winningLessonPlanId = Long.MIN_VALUE;
+        Long highestCount = Long.MIN_VALUE;
+        for (Map.Entry<Long, Long> entry : tally.entrySet()) {
+            if (entry.getValue() > highestCount) {
+                winningLessonPlanId = entry.getKey();
+                highestCount = entry.getValue();
+            }
+        }
+        return winningLessonPlanId;
+    }
+
+    /**
+     * Determines the presentable lesson plan which has been presented the least.
+     *
+     * @param previousPresentationMap Key = LessonPlan ID; Value = Count
+     * @param presentableLessonPlanIds list of LessonPlan IDs
+     * @return LessonPlan ID
+     */
+    static Long leastPresented(final Map<Long, Long> previousPresentationMap,
+                               final List<Long> presentableLessonPlanIds) {
+        // TreeMap Key = Count; Value = LessonPlan ID
+        final TreeMap<Long, Long> map = new TreeMap<>();
+        presentableLessonPlanIds.forEach(lpId -> map.put(previousPresentationMap.getOrDefault(lpId, 0L), lpId));
+        return map.get(map.firstKey());
+    }
+
+    /**
+     * Gets a map of the number of times each lesson plan has been presented before the given time.
      * Key = LessonPlan ID; Value = Count
      *
-     * @param event Event
+     * @param events list of Events
+     * @param before start time of the event being assigned
      * @return map of lesson plan presentation counts
      */
-    private Map<Long, Long> getPastLessonPlanPresentationCounts(final EventEntity event) {
+    static Map<Long, Long> countPresentations(final List<EventEntity> events, final LocalDateTime before) {
         final Map<Long, Long> map = new HashMap<>();
-        eventRepository
-                .findAll()
-                .orElse(new ArrayList<>())
+        events
                 .stream()
-                .filter(e -> e.getStartTime().isBefore(event.getStartTime()))
+                .filter(e -> e.getStartTime().isBefore(before))
                 .forEach(e -> map.put(e.getLessonPlanId(), map.getOrDefault(e.getLessonPlanId(), 0L) + 1));
         return map;
     }
@@ -0,0 +1,366 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.common.exception.ConflictException;
+import com.starfireaviation.common.exception.ResourceNotFoundException;
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventRepository;
+import com.starfireaviation.events.model.EventSeries;
+import com.starfireaviation.events.model.EventSeriesRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * SeriesService - recurring event series. Occurrences are expanded from the series' recurrence rule only within the
+ * requested window, so a weekly class costs one EVENT_SERIES row rather than one EVENT row per week. An occurrence is
+ * materialized as an EVENT row (referencing its series and scheduled start) before state is attached to it; from then
+ * on it is an ordinary event, and changes to the series no longer apply to it.
+ */
+public class SeriesService {
+
+    /**
+     * EventSeriesRepository.
+     */
+    private final EventSeriesRepository seriesRepository;
+
+    /**
+     * EventRepository.
+     */
+    private final EventRepository eventRepository;
+
+    /**
+     * SeriesService.
+     *
+     * @param esRepository EventSeriesRepository
+     * @param eRepository EventRepository
+     */
+    public SeriesService(final EventSeriesRepository esRepository, final EventRepository eRepository) {
+        seriesRepository = esRepository;
+        eventRepository = eRepository;
+    }
+
+    /**
+     * Stores a series.
+     *
+     * @param series EventSeries
+     * @return EventSeries
+     */
+    public EventSeries store(final EventSeries series) {
+        if (series == null) {
+            return null;
+        }
+        return seriesRepository.save(series);
+    }
+
+    /**
+     * Gets a series.
+     *
+     * @param id Series ID
+     * @return EventSeries
+     */
+    @Transactional(readOnly = true)
+    public EventSeries get(final long id) {
+        return seriesRepository.findById(id).orElseThrow(() -> new NoSuchElementException(
+                "Series " + id + " not found"));
+    }
+
+    /**
+     * Deletes a series and its exceptions. Materialized occurrences are kept as standalone events.
+     *
+     * @param id Series ID
+     * @return deleted EventSeries
+     */
+    @Transactional
+    public EventSeries delete(final long id) {
+        final EventSeries series = get(id);
+        seriesRepository.delete(series);
+        return series;
+    }
+
+    /**
+     * Gets the occurrences of a series scheduled within a window, ordered by scheduled start. Materialized
+     * occurrences are returned as stored; the others are unsaved events without an ID.
+     *
+     * @param id Series ID
+     * @param from first scheduled start (inclusive)
+     * @param to last scheduled start (exclusive)
+     * @return list of Events
+     */
+    @Transactional(readOnly = true)
+    public List<EventEntity> getOccurrences(final long id, final LocalDateTime from, final LocalDateTime to) {
+        final EventSeries series = get(id);
+        final NavigableMap<LocalDateTime, EventEntity> occurrences = new TreeMap<>();
+        for (final LocalDateTime start : expand(series, from, to)) {
+            occurrences.put(start, instantiate(series, start));
+        }
+        // Materialized occurrences carry state, so they are listed even if since excluded from the series
+        for (final EventEntity event : eventRepository.findBySeriesIdAndOccurrenceStartBetween(id, from, to)) {
+            if (event.getOccurrenceStart().isBefore(to)) {
+                occurrences.put(event.getOccurrenceStart(), event);
+            }
+        }
+        return new ArrayList<>(occurrences.values());
+    }
+
+    /**
+     * Gets the next occurrences of the public series of a type which have not been materialized (materialized
+     * occurrences are listed with the other events), ordered by scheduled start.
+     *
+     * @param eventType EventType
+     * @param after only occurrences starting after this time
+     * @param count maximum number of occurrences
+     * @return list of unsaved Events
+     */
+    @Transactional(readOnly = true)
+    public List<EventEntity> getUpcoming(final EventType eventType, final LocalDateTime after, final int count) {
+        return unmaterialized(seriesRepository.findPublicByEventTypeEndingAfter(eventType, after),
+                after.plusNanos(1), LocalDateTime.MAX, count);
+    }
+
+    /**
+     * Gets the next occurrences of the series a user leads, private series included, which have not been
+     * materialized, ordered by scheduled start.
+     *
+     * @param leader Leader User ID
+     * @param after only occurrences starting after this time
+     * @param count maximum number of occurrences
+     * @return list of unsaved Events
+     */
+    @Transactional(readOnly = true)
+    public List<EventEntity> getUpcomingForLeader(final Long leader, final LocalDateTime after, final int count) {
+        return unmaterialized(seriesRepository.findByLeaderEndingAfter(leader, after), after.plusNanos(1),
+                LocalDateTime.MAX, count);
+    }
+
+    /**
+     * Checks whether an occurrence which has not been materialized is scheduled within a range. Materialized
+     * occurrences are events, and are checked as such.
+     *
+     * @param leader optional Leader User ID
+     * @param eventType optional EventType
+     * @param from earliest start time (inclusive)
+     * @param to latest start time (inclusive)
+     * @return true when an occurrence is scheduled within the range
+     */
+    @Transactional(readOnly = true)
+    public boolean existsOccurrenceBetween(final Long leader, final EventType eventType, final LocalDateTime from,
+                                           final LocalDateTime to) {
+        return !unmaterialized(seriesRepository.findScheduledBetween(from, to, leader, eventType), from,
+                to.plusNanos(1), Integer.MAX_VALUE).isEmpty();
+    }
+
+    /**
+     * Merges occurrences into a list of events, keeping the first count by start time.
+     *
+     * @param events list of events, ordered by start time
+     * @param occurrences list of occurrences, ordered by start time
+     * @param startTime start time of an event
+     * @param count maximum number of events
+     * @param <T> event type
+     * @return merged list
+     */
+    public static <T> List<T> merge(final List<T> events, final List<T> occurrences,
+                                    final Function<T, LocalDateTime> startTime, final int count) {
+        if (occurrences.isEmpty()) {
+            return events;
+        }
+        final List<T> merged = new ArrayList<>(events);
+        merged.addAll(occurrences);
+        merged.sort(Comparator.comparing(startTime));
+        return new ArrayList<>(merged.subList(0, Math.min(count, merged.size())));
+    }
+
+    /**
+     * Materializes an occurrence, unless it already has been. Concurrent callers receive the same event.
+     *
+     * @param id Series ID
+     * @param start scheduled start of the occurrence
+     * @return Event
+     * @throws ResourceNotFoundException when the series has no occurrence scheduled at the given start
+     */
+    public EventEntity materialize(final long id, final LocalDateTime start) throws ResourceNotFoundException {
+        final Optional<EventEntity> existing = eventRepository.findBySeriesIdAndOccurrenceStart(id, start);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        final EventSeries series = get(id);
+        if (!isOccurrence(series, start)) {
+            throw new ResourceNotFoundException(String.format("Series [%s] has no occurrence at [%s]", id, start));
+        }
+        try {
+            return eventRepository.save(instantiate(series, start));
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race against a concurrent materialization (UK_EVENT_SERIES_OCCURRENCE)
+            return eventRepository.findBySeriesIdAndOccurrenceStart(id, start).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Cancels an occurrence which has not been materialized.
+     *
+     * @param id Series ID
+     * @param start scheduled start of the occurrence
+     * @return updated EventSeries
+     * @throws ResourceNotFoundException when the series has no occurrence scheduled at the given start
+     * @throws ConflictException when the occurrence has been materialized; delete its event instead
+     */
+    @Transactional
+    public EventSeries cancel(final long id, final LocalDateTime start)
+            throws ResourceNotFoundException, ConflictException {
+        final EventSeries series = get(id);
+        final Optional<EventEntity> existing = eventRepository.findBySeriesIdAndOccurrenceStart(id, start);
+        if (existing.isPresent()) {
+            throw new ConflictException(String.format("Occurrence [%s] of series [%s] is event [%s]",
+                    start, id, existing.get().getId()));
+        }
+        if (!isOccurrence(series, start)) {
+            throw new ResourceNotFoundException(String.format("Series [%s] has no occurrence at [%s]", id, start));
+        }
+        series.getExceptions().add(start);
+        return seriesRepository.save(series);
+    }
+
+    /**
+     * Expands the occurrences of several series within a window, dropping those which have been materialized with a
+     * single query.
+     *
+     * @param candidates list of EventSeries
+     * @param from first start (inclusive)
+     * @param to last start (exclusive)
+     * @param limit maximum number of occurrences
+     * @return list of unsaved Events, ordered by scheduled start
+     */
+    private List<EventEntity> unmaterialized(final List<EventSeries> candidates, final LocalDateTime from,
+                                             final LocalDateTime to, final int limit) {
+        final List<EventEntity> occurrences = new ArrayList<>();
+        for (final EventSeries series : candidates) {
+            for (final LocalDateTime start : expand(series, from, to, limit)) {
+                occurrences.add(instantiate(series, start));
+            }
+        }
+        if (occurrences.isEmpty()) {
+            return occurrences;
+        }
+        occurrences.sort(Comparator.comparing(EventEntity::getStartTime));
+        final Set<Long> seriesIds = candidates.stream().map(EventSeries::getId).collect(Collectors.toSet());
+        final Map<Long, Set<LocalDateTime>> materialized = new HashMap<>();
+        for (final EventEntity event : eventRepository.findBySeriesIdInAndOccurrenceStartBetween(seriesIds, from,
+                occurrences.get(occurrences.size() - 1).getStartTime())) {
+            materialized.computeIfAbsent(event.getSeriesId(), id -> new HashSet<>()).add(event.getOccurrenceStart());
+        }
+        occurrences.removeIf(occurrence -> materialized.getOrDefault(occurrence.getSeriesId(), Set.of())
+                .contains(occurrence.getOccurrenceStart()));
+        return new ArrayList<>(occurrences.subList(0, Math.min(limit, occurrences.size())));
+    }
+
+    /**
+     * Expands the scheduled starts of a series' occurrences within a window, skipping cancelled occurrences. Starts
+     * before the window are skipped arithmetically, so the cost is proportional to the window, not to the series.
+     *
+     * @param series EventSeries
+     * @param from first start (inclusive)
+     * @param to last start (exclusive)
+     * @return ordered list of starts
+     */
+    static List<LocalDateTime> expand(final EventSeries series, final LocalDateTime from, final LocalDateTime to) {
+        return expand(series, from, to, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Expands the scheduled starts of the first occurrences of a series within a window, skipping cancelled
+     * occurrences.
+     *
+     * @param series EventSeries
+     * @param from first start (inclusive)
+     * @param to last start (exclusive)
+     * @param limit maximum number of starts
+     * @return ordered list of starts
+     */
+    static List<LocalDateTime> expand(final EventSeries series, final LocalDateTime from, final LocalDateTime to,
+                                      final int limit) {
+        final List<LocalDateTime> starts = new ArrayList<>();
+        final LocalDateTime first = series.getFirstStart();
+        final ChronoUnit unit = series.getFrequency().getUnit();
+        final long interval = Math.max(1, series.getInterval());
+        long index = 0;
+        if (from.isAfter(first)) {
+            index = unit.between(first, from) / interval;
+        }
+        LocalDateTime start = first.plus(index * interval, unit);
+        while (starts.size() < limit && start.isBefore(to) && (series.getCount() == null || index < series.getCount())
+                && (series.getLastStart() == null || !start.isAfter(series.getLastStart()))) {
+            if (!start.isBefore(from) && !series.getExceptions().contains(start)) {
+                starts.add(start);
+            }
+            index++;
+            start = first.plus(index * interval, unit);
+        }
+        return starts;
+    }
+
+    /**
+     * Is an occurrence of the series scheduled at the given start (and not cancelled)?
+     *
+     * @param series EventSeries
+     * @param start LocalDateTime
+     * @return whether or not the start is an occurrence
+     */
+    static boolean isOccurrence(final EventSeries series, final LocalDateTime start) {
+        return !expand(series, start, start.plusNanos(1)).isEmpty();
+    }
+
+    /**
+     * Creates the (unsaved) event of an occurrence.
+     *
+     * @param series EventSeries
+     * @param start scheduled start of the occurrence
+     * @return EventEntity
+     */
+    static EventEntity instantiate(final EventSeries series, final LocalDateTime start) {
+        final EventEntity event = new EventEntity();
+        event.setTitle(series.getTitle());
+        event.setEventType(series.getEventType());
+        event.setPrivateEvent(series.isPrivateEvent());
+        event.setLeader(series.getLeader());
+        event.setLessonPlanId(series.getLessonPlanId());
+        event.setCapacity(series.getCapacity());
+        event.setCalendarUrl(series.getCalendarUrl());
+        event.setCheckinCodeRequired(series.isCheckinCodeRequired());
+        event.setStartTime(start);
+        event.setSeriesId(series.getId());
+        event.setOccurrenceStart(start);
+        return event;
+    }
+}
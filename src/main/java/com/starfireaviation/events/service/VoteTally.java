@@ -0,0 +1,135 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.events.model.VoteCount;
+import com.starfireaviation.events.model.VoteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * VoteTally - live, in-memory vote counts per event and lesson plan.
+ * Votes are counted with striped LongAdder counters, so concurrent voters never contend on a shared lock. A changed
+ * or withdrawn vote is recorded with the lesson plan it replaces, which is read just before the vote is written.
+ * VOTE rows remain the source of truth: all counts are periodically rebuilt from VOTE, starting at application
+ * startup, to pick up votes handled by other instances (and to correct concurrent changes by the same user).
+ */
+@Slf4j
+public class VoteTally {
+
+    /**
+     * VoteRepository.
+     */
+    private final VoteRepository voteRepository;
+
+    /**
+     * Counters. Key = Event ID; Value = (Key = LessonPlan ID; Value = votes).
+     */
+    private final Map<Long, Map<Long, LongAdder>> counters = new ConcurrentHashMap<>();
+
+    /**
+     * VoteTally.
+     *
+     * @param vRepository VoteRepository
+     */
+    public VoteTally(final VoteRepository vRepository) {
+        voteRepository = vRepository;
+    }
+
+    /**
+     * Records a vote.
+     *
+     * @param eventId Event ID
+     * @param previousLessonPlanId LessonPlan ID of the vote being replaced, or null for a first vote
+     * @param lessonPlanId LessonPlan ID
+     */
+    public void recordVote(final Long eventId, final Long previousLessonPlanId, final Long lessonPlanId) {
+        if (Objects.equals(previousLessonPlanId, lessonPlanId)) {
+            return;
+        }
+        if (previousLessonPlanId != null) {
+            recordWithdrawal(eventId, previousLessonPlanId);
+        }
+        getCounter(eventId, lessonPlanId).increment();
+    }
+
+    /**
+     * Records a withdrawn vote.
+     *
+     * @param eventId Event ID
+     * @param lessonPlanId LessonPlan ID of the withdrawn vote
+     */
+    public void recordWithdrawal(final Long eventId, final Long lessonPlanId) {
+        getCounter(eventId, lessonPlanId).decrement();
+    }
+
+    /**
+     * Gets the current tally for an event, highest vote count first.
+     *
+     * @param eventId Event ID
+     * @return Key = LessonPlan ID; Value = votes
+     */
+    public Map<Long, Long> getTally(final Long eventId) {
+        final Map<Long, Long> tally = new LinkedHashMap<>();
+        counters
+                .getOrDefault(eventId, Map.of())
+                .entrySet()
+                .stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEachOrdered(entry -> tally.put(entry.getKey(), entry.getValue()));
+        return tally;
+    }
+
+    /**
+     * Rebuilds all counts from VOTE. Runs at startup and then periodically.
+     */
+    @Scheduled(fixedDelayString = "${events.vote-tally-rebuild-interval}")
+    public void rebuild() {
+        final Map<Long, Map<Long, LongAdder>> rebuilt = new ConcurrentHashMap<>();
+        for (final VoteCount count : voteRepository.countAll()) {
+            final LongAdder adder = new LongAdder();
+            adder.add(count.getVotes());
+            rebuilt.computeIfAbsent(count.getEventId(), id -> new ConcurrentHashMap<>())
+                    .put(count.getLessonPlanId(), adder);
+        }
+        counters.keySet().retainAll(rebuilt.keySet());
+        counters.putAll(rebuilt);
+        log.debug("Rebuilt vote tally for {} events", rebuilt.size());
+    }
+
+    /**
+     * Gets the counter for a lesson plan of an event.
+     *
+     * @param eventId Event ID
+     * @param lessonPlanId LessonPlan ID
+     * @return counter
+     */
+    private LongAdder getCounter(final Long eventId, final Long lessonPlanId) {
+        return counters
+                .computeIfAbsent(eventId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(lessonPlanId, id -> new LongAdder());
+    }
+}
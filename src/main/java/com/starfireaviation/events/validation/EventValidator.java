@@ -17,15 +17,22 @@
 package com.starfireaviation.events.validation;
 
 import com.starfireaviation.common.exception.AccessDeniedException;
+import com.starfireaviation.common.exception.ConflictException;
 import com.starfireaviation.common.exception.InvalidPayloadException;
 import com.starfireaviation.common.exception.ResourceNotFoundException;
 import com.starfireaviation.common.model.Event;
 import com.starfireaviation.common.model.Role;
 import com.starfireaviation.common.model.User;
+import com.starfireaviation.events.model.ConflictScope;
+import com.starfireaviation.events.model.EventRepository;
 import com.starfireaviation.events.service.DataService;
+import com.starfireaviation.events.service.SeriesService;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
 
 /**
  * EventValidator.
@@ -38,13 +45,45 @@ public class EventValidator {
      */
     private final DataService dataService;
 
+    /**
+     * EventRepository.
+     */
+    private final EventRepository eventRepository;
+
+    /**
+     * SeriesService.
+     */
+    private final SeriesService seriesService;
+
+    /**
+     * Events checked for scheduling conflicts.
+     */
+    private final ConflictScope conflictScope;
+
+    /**
+     * Events starting within this window of each other conflict.
+     */
+    private final Duration conflictWindow;
+
     /**
      * EventValidator.
      *
      * @param dService    DataService
+     * @param eRepository EventRepository
+     * @param sService    SeriesService
+     * @param scope       events checked for scheduling conflicts
+     * @param window      events starting within this window of each other conflict
      */
-    public EventValidator(final DataService dService) {
+    public EventValidator(final DataService dService,
+                          final EventRepository eRepository,
+                          final SeriesService sService,
+                          final ConflictScope scope,
+                          final Duration window) {
         dataService = dService;
+        eventRepository = eRepository;
+        seriesService = sService;
+        conflictScope = scope;
+        conflictWindow = window;
     }
 
     /**
@@ -228,6 +267,46 @@ public class EventValidator {
         empty(event);
     }
 
+    /**
+     * Ensures no other event in the conflict scope starts within the conflict window of the event. Each check is a
+     * single range query on an index ending in start_time. Occurrences of series in the conflict scope which have
+     * not been materialized are expanded within the window and checked too.
+     *
+     * @param event Event
+     * @throws ConflictException when another event occurs within the conflict window
+     */
+    public void validateSchedule(final Event event) throws ConflictException {
+        if (event.getStartTime() == null || conflictScope == ConflictScope.NONE) {
+            return;
+        }
+        final LocalDateTime from = event.getStartTime().minus(conflictWindow);
+        final LocalDateTime to = event.getStartTime().plus(conflictWindow);
+        // IDs are generated from 1, so a new event excludes nothing
+        final Long id = Objects.requireNonNullElse(event.getId(), 0L);
+        final boolean conflict;
+        switch (conflictScope) {
+            case LEADER:
+                conflict = eventRepository.existsByLeaderAndStartTimeBetweenAndIdNot(event.getLead(), from, to, id)
+                        || seriesService.existsOccurrenceBetween(event.getLead(), null, from, to);
+                break;
+            case TYPE:
+                conflict = eventRepository.existsByEventTypeAndStartTimeBetweenAndIdNot(
+                        event.getEventType(), from, to, id)
+                        || seriesService.existsOccurrenceBetween(null, event.getEventType(), from, to);
+                break;
+            default:
+                conflict = eventRepository.existsByStartTimeBetweenAndIdNot(from, to, id)
+                        || seriesService.existsOccurrenceBetween(null, null, from, to);
+                break;
+        }
+        if (conflict) {
+            final String msg = String.format("Another event (scope %s) occurs within %s minutes of %s",
+                    conflictScope, conflictWindow.toMinutes(), event.getStartTime());
+            log.warn(msg);
+            throw new ConflictException(msg);
+        }
+    }
+
     /**
      * Ensures event object is not null.
      *
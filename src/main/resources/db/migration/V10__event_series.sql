@@ -0,0 +1,34 @@
+-- Recurring event series. Occurrences are expanded on demand; only those carrying state are stored in EVENT, keyed
+-- by their series and scheduled start.
+CREATE TABLE event_series (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    version BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    calendar_url VARCHAR(255),
+    checkin_code_required BIT NOT NULL,
+    private BIT NOT NULL,
+    type VARCHAR(100),
+    lesson_plan_id BIGINT NOT NULL,
+    leader BIGINT NOT NULL,
+    capacity INTEGER,
+    first_start DATETIME(6) NOT NULL,
+    frequency VARCHAR(255) NOT NULL,
+    recurrence_interval INTEGER NOT NULL,
+    occurrence_count INTEGER,
+    last_start DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE event_series_exception (
+    series_id BIGINT NOT NULL,
+    occurrence_start DATETIME(6) NOT NULL,
+    PRIMARY KEY (series_id, occurrence_start),
+    CONSTRAINT FK_EVENT_SERIES_EXCEPTION_SERIES FOREIGN KEY (series_id) REFERENCES event_series (id)
+) ENGINE = InnoDB;
+
+ALTER TABLE event
+    ADD COLUMN series_id BIGINT,
+    ADD COLUMN occurrence_start DATETIME(6),
+    ADD CONSTRAINT UK_EVENT_SERIES_OCCURRENCE UNIQUE (series_id, occurrence_start);
@@ -0,0 +1,2 @@
+-- Title search (GET /api/events/search). The first FULLTEXT index on a table rebuilds it to add FTS_DOC_ID.
+CREATE FULLTEXT INDEX FT_EVENT_TITLE ON event (title);
@@ -0,0 +1,40 @@
+-- Schema as previously maintained by ddl-auto: update (Hibernate's physical naming lower-cases table names).
+-- Existing databases are baselined at this version; later changes are applied to them by V2 onwards.
+
+CREATE TABLE event (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    started BIT NOT NULL,
+    start_time DATETIME(6),
+    completed BIT NOT NULL,
+    completed_time DATETIME(6),
+    calendar_url VARCHAR(255),
+    checkin_code VARCHAR(4),
+    checkin_code_required BIT NOT NULL,
+    private BIT NOT NULL,
+    type VARCHAR(100),
+    lesson_plan_id BIGINT NOT NULL,
+    leader BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE event_participant (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE vote (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    event_id BIGINT NOT NULL,
+    lesson_plan_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
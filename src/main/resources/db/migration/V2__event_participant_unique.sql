@@ -0,0 +1,7 @@
+-- One registration per user and event. Duplicates (left by concurrent registrations) are removed first, keeping the
+-- earliest registration.
+DELETE p FROM event_participant p
+    JOIN event_participant earlier
+        ON earlier.event_id = p.event_id AND earlier.user_id = p.user_id AND earlier.id < p.id;
+
+ALTER TABLE event_participant ADD CONSTRAINT UK_EVENT_PARTICIPANT_EVENT_USER UNIQUE (event_id, user_id);
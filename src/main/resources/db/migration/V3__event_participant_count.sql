@@ -0,0 +1,5 @@
+-- Denormalized registration count, maintained by EventRepository's atomic updates
+ALTER TABLE event ADD COLUMN participant_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE event e
+SET e.participant_count = (SELECT COUNT(*) FROM event_participant p WHERE p.event_id = e.id);
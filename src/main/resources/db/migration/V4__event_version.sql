@@ -0,0 +1,2 @@
+-- Optimistic locking version of EventEntity
+ALTER TABLE event ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
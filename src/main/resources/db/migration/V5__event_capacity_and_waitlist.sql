@@ -0,0 +1,11 @@
+-- Optional capacity per event, and the FIFO waitlist of users registering for a full event
+ALTER TABLE event ADD COLUMN capacity INTEGER;
+
+CREATE TABLE event_waitlist (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_EVENT_WAITLIST_EVENT_USER UNIQUE (event_id, user_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,7 @@
+-- One vote per user and event; VoteRepository.upsert relies on this key. Duplicates (left by the former
+-- read-modify-write) are removed first, keeping each user's latest vote.
+DELETE v FROM vote v
+    JOIN vote later
+        ON later.event_id = v.event_id AND later.user_id = v.user_id AND later.id > v.id;
+
+ALTER TABLE vote ADD CONSTRAINT UK_VOTE_EVENT_USER UNIQUE (event_id, user_id);
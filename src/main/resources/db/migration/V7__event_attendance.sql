@@ -0,0 +1,9 @@
+-- Attendance recorded through check-in codes
+CREATE TABLE event_attendance (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    checked_in_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_EVENT_ATTENDANCE_EVENT_USER UNIQUE (event_id, user_id)
+) ENGINE = InnoDB;
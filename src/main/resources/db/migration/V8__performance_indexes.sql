@@ -0,0 +1,8 @@
+-- Lookups by event (findByEventId, findByEventIdIn, the vote tally) are served by the (event_id, user_id) unique
+-- keys of EVENT_PARTICIPANT and VOTE, so only the remaining access paths need indexes.
+
+-- Events a user participates in
+CREATE INDEX IX_EVENT_PARTICIPANT_USER_EVENT ON event_participant (user_id, event_id);
+
+-- Upcoming public events of a type, ordered by start time
+CREATE INDEX IX_EVENT_TYPE_PRIVATE_START_TIME ON event (type, private, start_time);
@@ -0,0 +1,5 @@
+-- Range queries on start_time for scheduling-conflict detection, one per events.conflict-scope. Events are written
+-- rarely, so the extra indexes cost little.
+CREATE INDEX IX_EVENT_START_TIME ON event (start_time);
+CREATE INDEX IX_EVENT_LEADER_START_TIME ON event (leader, start_time);
+CREATE INDEX IX_EVENT_TYPE_START_TIME ON event (type, start_time);
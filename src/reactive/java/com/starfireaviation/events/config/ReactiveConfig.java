@@ -0,0 +1,122 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.config;
+
+import com.starfireaviation.events.service.ReactiveDataService;
+import com.starfireaviation.events.service.ReactiveEventService;
+import com.starfireaviation.events.validation.ReactiveEventValidator;
+import io.netty.channel.ChannelOption;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * ReactiveConfig - beans backing the non-blocking read path, enabled by the "reactive" profile.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    /**
+     * R2DBC ConnectionFactory (pooled), sharing credentials with the JDBC datasource.
+     *
+     * @param props ApplicationProperties
+     * @param dataSourceProperties DataSourceProperties
+     * @return ConnectionFactory
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(final ApplicationProperties props,
+                                            final DataSourceProperties dataSourceProperties) {
+        final ConnectionFactory connectionFactory = ConnectionFactories.get(
+                ConnectionFactoryOptions.parse(props.getR2dbcUrl())
+                        .mutate()
+                        .option(ConnectionFactoryOptions.USER, dataSourceProperties.getUsername())
+                        .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.getPassword())
+                        .option(ConnectionFactoryOptions.CONNECT_TIMEOUT,
+                                Duration.ofMillis(props.getConnectTimeout()))
+                        .build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory).build());
+    }
+
+    /**
+     * DatabaseClient.
+     *
+     * @param connectionFactory ConnectionFactory
+     * @return DatabaseClient
+     */
+    @Bean
+    public DatabaseClient databaseClient(final ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * ReactiveDataService.
+     *
+     * @param webClientBuilder WebClient.Builder
+     * @param props ApplicationProperties
+     * @return ReactiveDataService
+     */
+    @Bean
+    public ReactiveDataService reactiveDataService(final WebClient.Builder webClientBuilder,
+                                                   final ApplicationProperties props) {
+        final HttpClient httpClient = HttpClient
+                .create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, props.getConnectTimeout());
+        return new ReactiveDataService(
+                webClientBuilder
+                        .baseUrl(props.getUsersUrl())
+                        .clientConnector(new ReactorClientHttpConnector(httpClient))
+                        .build(),
+                Duration.ofMillis(props.getReadTimeout()));
+    }
+
+    /**
+     * ReactiveEventService.
+     *
+     * @param databaseClient DatabaseClient
+     * @param dataService ReactiveDataService
+     * @return ReactiveEventService
+     */
+    @Bean
+    public ReactiveEventService reactiveEventService(final DatabaseClient databaseClient,
+                                                     final ReactiveDataService dataService) {
+        return new ReactiveEventService(databaseClient, dataService);
+    }
+
+    /**
+     * ReactiveEventValidator.
+     *
+     * @param dataService ReactiveDataService
+     * @return ReactiveEventValidator
+     */
+    @Bean
+    public ReactiveEventValidator reactiveEventValidator(final ReactiveDataService dataService) {
+        return new ReactiveEventValidator(dataService);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.controller;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.starfireaviation.common.exception.InvalidPayloadException;
+import com.starfireaviation.common.model.Event;
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.events.service.ReactiveEventService;
+import com.starfireaviation.events.validation.ReactiveEventValidator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * ReactiveEventController - non-blocking read endpoints, enabled by the "reactive" profile.
+ */
+@Profile("reactive")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@RestController
+@RequestMapping({ "/api/reactive/events" })
+public class ReactiveEventController {
+
+    /**
+     * ReactiveEventService.
+     */
+    private final ReactiveEventService eventService;
+
+    /**
+     * ReactiveEventValidator.
+     */
+    private final ReactiveEventValidator eventValidator;
+
+    /**
+     * Events cache (shared with EventController).
+     */
+    private final IMap<Long, Event> cache;
+
+    /**
+     * ReactiveEventController.
+     *
+     * @param eService   ReactiveEventService
+     * @param eValidator ReactiveEventValidator
+     * @param hazelcastInstance HazelcastInstance
+     */
+    public ReactiveEventController(final ReactiveEventService eService,
+                                   final ReactiveEventValidator eValidator,
+                                   @Qualifier("events") final HazelcastInstance hazelcastInstance) {
+        eventService = eService;
+        eventValidator = eValidator;
+        cache = hazelcastInstance.getMap("events");
+    }
+
+    /**
+     * Gets an event.
+     *
+     * @param eventId   Long
+     * @param expand    optional expansions (ex: participants)
+     * @param fields    optional comma separated list of fields to be returned
+     * @param principal Principal
+     * @return Event, or NoSuchElementException when the event does not exist (as EventController)
+     * @throws InvalidPayloadException when an unknown field is requested
+     */
+    @GetMapping(path = { "/{eventId}" })
+    public Mono<Event> get(@PathVariable("eventId") final Long eventId,
+                           @RequestParam(value = "expand", required = false) final String expand,
+                           @RequestParam(value = "fields", required = false) final String fields,
+                           final Principal principal) throws InvalidPayloadException {
+        final Set<String> selected = EventFields.parse(fields, expand);
+        return eventValidator
+                .accessAnyAuthenticated(principal)
+                .then(Mono.fromCompletionStage(() -> cache.getAsync(eventId)))
+                .switchIfEmpty(Mono.defer(() -> eventService
+                        .get(eventId)
+                        .map(EventController::map)
+                        .flatMap(event -> Mono
+                                .fromCompletionStage(cache.setAsync(eventId, event))
+                                .thenReturn(event))))
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Event " + eventId + " not found")))
+                .flatMap(event -> expand(event, EventFields.includesParticipants(selected, expand)))
+                .map(event -> EventFields.select(event, selected));
+    }
+
+    /**
+     * Get all events.
+     *
+     * @param expand    optional expansions (ex: participants)
+     * @param fields    optional comma separated list of fields to be returned
+     * @param principal Principal
+     * @return Events
+     * @throws InvalidPayloadException when an unknown field is requested
+     */
+    @GetMapping
+    public Flux<Event> list(@RequestParam(value = "expand", required = false) final String expand,
+                            @RequestParam(value = "fields", required = false) final String fields,
+                            final Principal principal) throws InvalidPayloadException {
+        final Set<String> selected = EventFields.parse(fields, expand);
+        final boolean participants = EventFields.includesParticipants(selected, expand);
+        return eventValidator
+                .accessAdminOrInstructor(principal)
+                .thenMany(eventService.getAll())
+                .map(EventController::map)
+                .concatMap(event -> expand(event, participants))
+                .map(event -> EventFields.select(event, selected));
+    }
+
+    /**
+     * Gets the list of supporting instructors for the given event.
+     *
+     * @param eventId   Event ID
+     * @param principal Principal
+     * @return User IDs
+     */
+    @GetMapping(path = { "/{eventId}/instructors" })
+    public Flux<Long> supportingInstructors(@PathVariable("eventId") final long eventId,
+                                            final Principal principal) {
+        return eventValidator
+                .accessAnyAuthenticated(principal)
+                .thenMany(eventService.getAllSupportingInstructors(eventId));
+    }
+
+    /**
+     * Get X upcoming events.
+     *
+     * @param type      EventType
+     * @param count     number of events to be returned
+     * @param expand    optional expansions (ex: participants)
+     * @param fields    optional comma separated list of fields to be returned
+     * @return Events
+     * @throws InvalidPayloadException when an unknown field is requested
+     */
+    @GetMapping(path = { "/upcoming/{type}/{count}" })
+    public Flux<Event> upcoming(@PathVariable("type") final EventType type,
+                                @PathVariable("count") final int count,
+                                @RequestParam(value = "expand", required = false) final String expand,
+                                @RequestParam(value = "fields", required = false) final String fields)
+            throws InvalidPayloadException {
+        final Set<String> selected = EventFields.parse(fields, expand);
+        final boolean participants = EventFields.includesParticipants(selected, expand);
+        return eventService
+                .getUpcoming(type, Math.min(count, EventController.MAX_UPCOMING_COUNT))
+                .map(EventController::map)
+                .concatMap(event -> expand(event, participants))
+                .map(event -> EventFields.select(event, selected));
+    }
+
+    /**
+     * Populates the participants of an Event, when requested.
+     *
+     * @param event Event
+     * @param participants whether participant IDs are to be populated
+     * @return Event
+     */
+    private Mono<Event> expand(final Event event, final boolean participants) {
+        if (!participants) {
+            return Mono.just(event);
+        }
+        return eventService
+                .getParticipants(event.getId())
+                .collectList()
+                .map(participantIds -> {
+                    event.setParticipantIds(participantIds);
+                    return event;
+                });
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.common.model.User;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * ReactiveDataService - non-blocking counterpart of DataService used by the reactive read path.
+ */
+public class ReactiveDataService {
+
+    /**
+     * Users service client.
+     */
+    private final WebClient usersClient;
+
+    /**
+     * Response timeout.
+     */
+    private final Duration timeout;
+
+    /**
+     * ReactiveDataService.
+     *
+     * @param uClient users service WebClient
+     * @param responseTimeout response timeout
+     */
+    public ReactiveDataService(final WebClient uClient, final Duration responseTimeout) {
+        usersClient = uClient;
+        timeout = responseTimeout;
+    }
+
+    /**
+     * Gets a User by username.
+     *
+     * @param name user name
+     * @return User
+     */
+    public Mono<User> getUser(final String name) {
+        return usersClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/api/users").queryParam("username", name).build())
+                .retrieve()
+                .bodyToMono(User.class)
+                .timeout(timeout);
+    }
+
+    /**
+     * Gets a User by ID.
+     *
+     * @param userId user ID
+     * @return User
+     */
+    public Mono<User> getUser(final Long userId) {
+        return usersClient
+                .get()
+                .uri("/api/users/{userId}", userId)
+                .retrieve()
+                .bodyToMono(User.class)
+                .timeout(timeout);
+    }
+}
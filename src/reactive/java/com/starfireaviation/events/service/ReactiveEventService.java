@@ -0,0 +1,172 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.common.model.Role;
+import com.starfireaviation.events.model.EventEntity;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * ReactiveEventService - non-blocking read access to events.
+ */
+public class ReactiveEventService {
+
+    /**
+     * EVENT columns.
+     */
+    private static final String SELECT_EVENT = "SELECT id, title, started, start_time, completed, "
+            + "completed_time, calendar_url, checkin_code, checkin_code_required, private, type, "
+            + "lesson_plan_id, leader, participant_count FROM event";
+
+    /**
+     * Maximum number of concurrent DataService lookups per request.
+     */
+    private static final int MAX_CONCURRENT_LOOKUPS = 8;
+
+    /**
+     * DatabaseClient.
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * ReactiveDataService.
+     */
+    private final ReactiveDataService dataService;
+
+    /**
+     * ReactiveEventService.
+     *
+     * @param dbClient DatabaseClient
+     * @param dService ReactiveDataService
+     */
+    public ReactiveEventService(final DatabaseClient dbClient, final ReactiveDataService dService) {
+        databaseClient = dbClient;
+        dataService = dService;
+    }
+
+    /**
+     * Gets a event.
+     *
+     * @param id Long
+     * @return Event
+     */
+    public Mono<EventEntity> get(final long id) {
+        return databaseClient
+                .sql(SELECT_EVENT + " WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> map(row))
+                .one();
+    }
+
+    /**
+     * Gets all events.
+     *
+     * @return events
+     */
+    public Flux<EventEntity> getAll() {
+        return databaseClient
+                .sql(SELECT_EVENT)
+                .map((row, metadata) -> map(row))
+                .all();
+    }
+
+    /**
+     * Gets the next public events of a type, ordered by start time.
+     *
+     * @param eventType EventType
+     * @param count maximum number of events
+     * @return events
+     */
+    public Flux<EventEntity> getUpcoming(final EventType eventType, final int count) {
+        return databaseClient
+                .sql(SELECT_EVENT + " WHERE type = :type AND private = false AND start_time > :now "
+                        + "ORDER BY start_time LIMIT :count")
+                .bind("type", eventType.name())
+                .bind("now", LocalDateTime.now())
+                .bind("count", count)
+                .map((row, metadata) -> map(row))
+                .all();
+    }
+
+    /**
+     * Get participant list for an event.
+     *
+     * @param eventId Event ID
+     * @return user IDs
+     */
+    public Flux<Long> getParticipants(final Long eventId) {
+        return databaseClient
+                .sql("SELECT user_id FROM event_participant WHERE event_id = :eventId")
+                .bind("eventId", eventId)
+                .map((row, metadata) -> row.get("user_id", Long.class))
+                .all();
+    }
+
+    /**
+     * Gets all supporting instructors for the given event.
+     *
+     * @param eventId Event ID
+     * @return User IDs
+     */
+    public Flux<Long> getAllSupportingInstructors(final Long eventId) {
+        return get(eventId).flatMapMany(event -> getParticipants(eventId)
+                .distinct()
+                .filter(userId -> !Objects.equals(userId, event.getLeader()))
+                .flatMap(userId -> dataService
+                        .getUser(userId)
+                        .filter(user -> user.getRole() == Role.INSTRUCTOR)
+                        .map(user -> userId), MAX_CONCURRENT_LOOKUPS));
+    }
+
+    /**
+     * Maps an EVENT row to an EventEntity.
+     *
+     * @param row Row
+     * @return EventEntity
+     */
+    private static EventEntity map(final Row row) {
+        final EventEntity event = new EventEntity();
+        event.setId(row.get("id", Long.class));
+        event.setTitle(row.get("title", String.class));
+        event.setStarted(Boolean.TRUE.equals(row.get("started", Boolean.class)));
+        event.setStartTime(row.get("start_time", LocalDateTime.class));
+        event.setCompleted(Boolean.TRUE.equals(row.get("completed", Boolean.class)));
+        event.setCompletedTime(row.get("completed_time", LocalDateTime.class));
+        event.setCalendarUrl(row.get("calendar_url", String.class));
+        event.setCheckinCode(row.get("checkin_code", String.class));
+        event.setCheckinCodeRequired(Boolean.TRUE.equals(row.get("checkin_code_required", Boolean.class)));
+        event.setPrivateEvent(Boolean.TRUE.equals(row.get("private", Boolean.class)));
+        final String type = row.get("type", String.class);
+        if (type != null) {
+            event.setEventType(EventType.valueOf(type));
+        }
+        event.setLessonPlanId(row.get("lesson_plan_id", Long.class));
+        event.setLeader(row.get("leader", Long.class));
+        final Integer participantCount = row.get("participant_count", Integer.class);
+        if (participantCount != null) {
+            event.setParticipantCount(participantCount);
+        }
+        return event;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.validation;
+
+import com.starfireaviation.common.exception.AccessDeniedException;
+import com.starfireaviation.common.model.Role;
+import com.starfireaviation.common.model.User;
+import com.starfireaviation.events.service.ReactiveDataService;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * ReactiveEventValidator - non-blocking counterpart of EventValidator's access checks.
+ */
+@Slf4j
+public class ReactiveEventValidator {
+
+    /**
+     * Roles permitted to administer events.
+     */
+    private static final Set<Role> ADMIN_OR_INSTRUCTOR = Set.of(Role.ADMIN, Role.INSTRUCTOR);
+
+    /**
+     * Roles of any authenticated user.
+     */
+    private static final Set<Role> ANY_AUTHENTICATED = Set.of(Role.ADMIN, Role.INSTRUCTOR, Role.STUDENT);
+
+    /**
+     * ReactiveDataService.
+     */
+    private final ReactiveDataService dataService;
+
+    /**
+     * ReactiveEventValidator.
+     *
+     * @param dService ReactiveDataService
+     */
+    public ReactiveEventValidator(final ReactiveDataService dService) {
+        dataService = dService;
+    }
+
+    /**
+     * Validates access by an admin or instructor.
+     *
+     * @param principal Principal
+     * @return Logged in user's ID, or AccessDeniedException
+     */
+    public Mono<Long> accessAdminOrInstructor(final Principal principal) {
+        return access(principal, ADMIN_OR_INSTRUCTOR, "accessAdminOrInstructor()");
+    }
+
+    /**
+     * Validates access by any authenticated user.
+     *
+     * @param principal Principal
+     * @return Logged in user's ID, or AccessDeniedException
+     */
+    public Mono<Long> accessAnyAuthenticated(final Principal principal) {
+        return access(principal, ANY_AUTHENTICATED, "accessAnyAuthenticated()");
+    }
+
+    /**
+     * Validates the principal's user has one of the given roles.
+     *
+     * @param principal Principal
+     * @param roles permitted roles
+     * @param caller calling method, for logging
+     * @return Logged in user's ID, or AccessDeniedException
+     */
+    private Mono<Long> access(final Principal principal, final Set<Role> roles, final String caller) {
+        if (principal == null) {
+            log.warn(String.format("%s throwing AccessDeniedException because principal is null", caller));
+            return Mono.error(new AccessDeniedException("No authorization provided"));
+        }
+        return dataService
+                .getUser(principal.getName())
+                .switchIfEmpty(Mono.error(new AccessDeniedException("Current user is not authorized")))
+                .flatMap(user -> {
+                    if (!roles.contains(user.getRole())) {
+                        log.warn(
+                                String.format(
+                                        "%s throwing AccessDeniedException because role is [%s]",
+                                        caller,
+                                        user.getRole()));
+                        return Mono.error(new AccessDeniedException("Current user is not authorized"));
+                    }
+                    return Mono.just(user.getId());
+                });
+    }
+}
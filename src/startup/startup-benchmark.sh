@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request of the events application, including its embedded Hazelcast member: the time from
+# launching the JVM until GET $STARTUP_PATH first returns 200. Compares the Spring Boot jar with the thin jar of the
+# cds profile, without and with its AppCDS archive. Each run starts a fresh JVM.
+#
+# Build both artifacts first:  ./mvnw -Pcds package
+# Usage:                       src/startup/startup-benchmark.sh [runs]
+#
+# Runs against the offline profile (no database) unless SPRING_PROFILES_ACTIVE is set, in which case the usual
+# MYSQL_* variables apply and schema handling is compared as well: ddl-auto: update (before the Flyway migrations)
+# against Flyway plus ddl-auto: validate. Point it at a migrated copy of the production schema, as update only
+# inspects existing tables. Requires GNU date and curl.
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18081}
+STARTUP_PATH=${STARTUP_PATH:-/actuator/health/liveness}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-300}
+export SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-offline}
+
+cd "$(dirname "$0")/../.."
+FAT_JAR=$(ls target/events-*.jar | head -1)
+THIN_JAR=$(ls target/cds/events-*-cds.jar | head -1)
+ARCHIVE=target/cds/events.jsa
+
+# Prints the milliseconds from launch until the first successful request
+measure() {
+    local start pid
+    start=$(date +%s%3N)
+    java "$@" --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:${PORT}${STARTUP_PATH}"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited before serving a request" >&2
+            return 1
+        fi
+        if (( $(date +%s%3N) - start > TIMEOUT_SECONDS * 1000 )); then
+            kill "$pid"
+            echo "no response within ${TIMEOUT_SECONDS}s" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    echo $(( $(date +%s%3N) - start ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+}
+
+benchmark() {
+    local name=$1 times=()
+    shift
+    for (( i = 0; i < RUNS; i++ )); do
+        times+=("$(measure "$@")")
+    done
+    IFS=$'\n' times=($(sort -n <<< "${times[*]}"))
+    unset IFS
+    printf '%-12s min %6sms  median %6sms  max %6sms\n' "$name" "${times[0]}" "${times[RUNS / 2]}" "${times[RUNS - 1]}"
+}
+
+echo "time to first 200 from ${STARTUP_PATH} (${RUNS} runs, profile ${SPRING_PROFILES_ACTIVE})"
+benchmark "jar" -jar "$FAT_JAR"
+benchmark "thin" -jar "$THIN_JAR"
+benchmark "thin+cds" -XX:SharedArchiveFile="$ARCHIVE" -jar "$THIN_JAR"
+if [[ "$SPRING_PROFILES_ACTIVE" != offline ]]; then
+    benchmark "ddl-update" -jar "$FAT_JAR" --spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=update
+    benchmark "flyway" -jar "$FAT_JAR"
+fi
@@ -0,0 +1,206 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.starfireaviation.common.model.Event;
+import com.starfireaviation.common.model.EventType;
+import com.starfireaviation.common.model.Role;
+import com.starfireaviation.common.model.User;
+import com.starfireaviation.events.controller.EventController;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventParticipant;
+import com.starfireaviation.events.model.EventParticipantRepository;
+import com.starfireaviation.events.model.EventRepository;
+import com.starfireaviation.events.service.DataService;
+import com.starfireaviation.events.service.EventService;
+import io.cucumber.java.Before;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import javax.persistence.EntityManagerFactory;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Steps which invoke EventController in-process and hold each invocation to a SQL statement budget.
+ */
+public class QueryBudgetSteps {
+
+    /**
+     * Event type used for seeded events.
+     */
+    private static final EventType TYPE = EventType.values()[0];
+
+    /**
+     * Principal of an admin.
+     */
+    private static final Principal ADMIN = () -> "admin";
+
+    @Autowired
+    private EventController eventController;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventParticipantRepository eventParticipantRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private DataService dataService;
+
+    @Autowired
+    @Qualifier("events")
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    private final List<Long> eventIds = new ArrayList<>();
+
+    private List<Event> upcoming;
+
+    @Before("@QueryBudget")
+    public void setUp() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        hazelcastInstance.getMap("events").clear();
+        hazelcastInstance.getMap("upcomingEvents").clear();
+        final User admin = new User();
+        admin.setId(1L);
+        admin.setRole(Role.ADMIN);
+        when(dataService.getUser(anyString())).thenReturn(admin);
+        when(dataService.getUser(anyLong())).thenReturn(admin);
+    }
+
+    @Given("^(\\d+) upcoming events exist$")
+    public void upcomingEventsExist(final int count) {
+        createEvents(count, ChronoUnit.DAYS);
+    }
+
+    @Given("^(\\d+) events starting within the hour exist$")
+    public void eventsStartingWithinTheHourExist(final int count) {
+        // Sooner than the events of earlier scenarios, so these are the next upcoming ones
+        createEvents(count, ChronoUnit.MINUTES);
+    }
+
+    @Given("^each event has (\\d+) participants$")
+    public void eachEventHasParticipants(final int count) {
+        for (final Long eventId : eventIds) {
+            for (long userId = 1; userId <= count; userId++) {
+                final EventParticipant participant = new EventParticipant();
+                participant.setEventId(eventId);
+                participant.setUserId(userId);
+                eventParticipantRepository.save(participant);
+            }
+        }
+    }
+
+    @Given("^(\\d+) users are registered for each event$")
+    public void usersAreRegisteredForEachEvent(final int count) {
+        for (final Long eventId : eventIds) {
+            for (long userId = 1; userId <= count; userId++) {
+                eventService.register(eventId, userId);
+            }
+        }
+    }
+
+    @When("^I list all events$")
+    public void iListAllEvents() throws Exception {
+        queryCounter.reset();
+        assertFalse(eventController.list(null, null, ADMIN).isEmpty());
+    }
+
+    @When("^I list all events with participants$")
+    public void iListAllEventsWithParticipants() throws Exception {
+        queryCounter.reset();
+        assertFalse(eventController.list("participants", null, ADMIN).isEmpty());
+    }
+
+    @When("^I get the (\\d+) next upcoming events with participants$")
+    public void iGetTheNextUpcomingEventsWithParticipants(final int count) throws Exception {
+        queryCounter.reset();
+        assertFalse(eventController.upcoming(TYPE, count, "participants", null).isEmpty());
+    }
+
+    @When("^I get the (\\d+) next upcoming events$")
+    public void iGetTheNextUpcomingEvents(final int count) throws Exception {
+        queryCounter.reset();
+        upcoming = eventController.upcoming(TYPE, count, null, null);
+        assertFalse(upcoming.isEmpty());
+    }
+
+    @When("^I get one of the events$")
+    public void iGetOneOfTheEvents() throws Exception {
+        queryCounter.reset();
+        eventController.get(eventIds.get(0), null, null, ADMIN);
+    }
+
+    @When("^I register a user for one of the events$")
+    public void iRegisterAUserForOneOfTheEvents() throws Exception {
+        queryCounter.reset();
+        eventController.register(eventIds.get(0), Long.MAX_VALUE, ADMIN);
+    }
+
+    @When("^I get the upcoming events of user (\\d+) with participants$")
+    public void iGetTheUpcomingEventsOfUserWithParticipants(final long userId) throws Exception {
+        queryCounter.reset();
+        assertFalse(eventController.forUser(userId, "upcoming", 0, EventController.MAX_PAGE_SIZE, "participants",
+                null, ADMIN).isEmpty());
+    }
+
+    @Then("^each upcoming event should report (\\d+) participants without listing them$")
+    public void eachUpcomingEventShouldReportParticipants(final int count) {
+        for (final Event event : upcoming) {
+            assertEquals(count, event.getParticipantCount());
+            assertTrue(event.getParticipantIds() == null || event.getParticipantIds().isEmpty());
+        }
+    }
+
+    @Then("^at most (\\d+) SQL statements? should have been issued$")
+    public void atMostSqlStatementsShouldHaveBeenIssued(final int max) {
+        queryCounter.assertAtMost(max);
+    }
+
+    private void createEvents(final int count, final ChronoUnit interval) {
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            final EventEntity event = new EventEntity();
+            event.setTitle("Event " + i);
+            event.setEventType(TYPE);
+            event.setStartTime(now.plus(i + 1, interval));
+            eventIds.add(eventRepository.save(event).getId());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements Hibernate prepares, so tests can hold code paths to a query budget and catch N+1
+ * queries. Requires hibernate.generate_statistics=true.
+ */
+public class QueryCounter {
+
+    /**
+     * Hibernate Statistics.
+     */
+    private final Statistics statistics;
+
+    /**
+     * QueryCounter.
+     *
+     * @param entityManagerFactory EntityManagerFactory
+     */
+    public QueryCounter(final EntityManagerFactory entityManagerFactory) {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "hibernate.generate_statistics must be enabled");
+    }
+
+    /**
+     * Starts counting from zero.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Number of statements prepared since the last reset.
+     *
+     * @return statement count
+     */
+    public long count() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Asserts that no more than the given number of statements have been prepared since the last reset.
+     *
+     * @param max statement budget
+     */
+    public void assertAtMost(final long max) {
+        final long count = count();
+        assertTrue(count <= max, String.format("Expected at most %d SQL statements but %d were issued", max, count));
+    }
+}
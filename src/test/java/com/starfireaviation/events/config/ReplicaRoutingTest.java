@@ -0,0 +1,137 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routes transactions over two embedded databases, each of which identifies itself in a NODE table.
+ */
+class ReplicaRoutingTest {
+
+    private static final long MAX_LAG = 5L;
+
+    private static final String WHO = "select name from NODE";
+
+    private JdbcTemplate replicaJdbc;
+
+    private HikariDataSource replica;
+
+    private ReplicaRouter router;
+
+    private JdbcTemplate jdbc;
+
+    private TransactionTemplate readOnly;
+
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        final DriverManagerDataSource primary = new DriverManagerDataSource(
+                "jdbc:h2:mem:primary-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        replica = new HikariDataSource();
+        replica.setJdbcUrl("jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+
+        new JdbcTemplate(primary).execute("create table NODE (name varchar(16))");
+        new JdbcTemplate(primary).update("insert into NODE values ('primary')");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("create table NODE (name varchar(16))");
+        replicaJdbc.update("insert into NODE values ('replica')");
+        replicaJdbc.execute("create table REPLICA_LAG (Seconds_Behind_Source bigint)");
+        replicaJdbc.update("insert into REPLICA_LAG values (0)");
+
+        router = new ReplicaRouter(primary, replica, "select Seconds_Behind_Source from REPLICA_LAG", MAX_LAG);
+        router.checkLag();
+
+        final LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(router.getDataSource());
+        final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        router.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertTrue(router.isReplicaAvailable());
+        assertEquals("replica", readOnly.execute(status -> jdbc.queryForObject(WHO, String.class)));
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        assertEquals("primary", readWrite.execute(status -> jdbc.queryForObject(WHO, String.class)));
+    }
+
+    @Test
+    void readsOutsideTransactionsUseThePrimary() {
+        assertEquals("primary", jdbc.queryForObject(WHO, String.class));
+    }
+
+    @Test
+    void lagBeyondMaximumRoutesReadsToThePrimary() {
+        replicaJdbc.update("update REPLICA_LAG set Seconds_Behind_Source = ?", MAX_LAG + 1);
+        router.checkLag();
+
+        assertFalse(router.isReplicaAvailable());
+        assertEquals("primary", readOnly.execute(status -> jdbc.queryForObject(WHO, String.class)));
+
+        replicaJdbc.update("update REPLICA_LAG set Seconds_Behind_Source = ?", MAX_LAG);
+        router.checkLag();
+
+        assertEquals("replica", readOnly.execute(status -> jdbc.queryForObject(WHO, String.class)));
+    }
+
+    @Test
+    void replicaNotReplicatingRoutesReadsToThePrimary() {
+        replicaJdbc.update("update REPLICA_LAG set Seconds_Behind_Source = null");
+        router.checkLag();
+
+        assertFalse(router.isReplicaAvailable());
+        assertEquals("primary", readOnly.execute(status -> jdbc.queryForObject(WHO, String.class)));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        replica.close();
+
+        assertEquals("primary", readOnly.execute(status -> jdbc.queryForObject(WHO, String.class)));
+        assertFalse(router.isReplicaAvailable());
+
+        router.checkLag();
+
+        assertFalse(router.isReplicaAvailable());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.model;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hibernate generates lazy proxies with Byte Buddy, which must support the Java release the entities are compiled
+ * for.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class EntityProxyTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void generatesLazyProxies() {
+        final EventEntity event = new EventEntity();
+        event.setTitle("Ground school");
+        event.setLessonPlanId(1L);
+        event.setLeader(2L);
+        final Long id = entityManager.persistAndGetId(event, Long.class);
+        entityManager.flush();
+        entityManager.clear();
+
+        final EventEntity reference = entityManager.getEntityManager().getReference(EventEntity.class, id);
+
+        assertTrue(reference instanceof HibernateProxy);
+        assertEquals("Ground school", reference.getTitle());
+    }
+}
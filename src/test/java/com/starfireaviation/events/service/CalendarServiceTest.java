@@ -0,0 +1,87 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.events.model.EventEntity;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalendarServiceTest {
+
+    @Test
+    void rendersEventsAsICalendar() {
+        final String calendar = CalendarService.render("LESSON events", List.of(event("Weather; fronts, and fog")));
+
+        assertTrue(calendar.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(calendar.contains("UID:event-7@events.starfireaviation.com\r\n"));
+        assertTrue(calendar.contains("DTSTART:20300102T153000Z\r\n"));
+        assertTrue(calendar.contains("SUMMARY:Weather\\; fronts\\, and fog\r\n"));
+        assertTrue(calendar.endsWith("END:VEVENT\r\nEND:VCALENDAR\r\n"));
+    }
+
+    @Test
+    void identifiesOccurrencesBySeriesAndScheduledStart() {
+        final EventEntity occurrence = event("Ground school");
+        occurrence.setId(null);
+        occurrence.setSeriesId(3L);
+        occurrence.setOccurrenceStart(occurrence.getStartTime());
+
+        assertTrue(CalendarService.render("Events", List.of(occurrence))
+                .contains("UID:series-3-20300102T153000Z@events.starfireaviation.com\r\n"));
+    }
+
+    @Test
+    void foldsLinesLongerThan75Octets() {
+        final String calendar = CalendarService.render("Events", List.of(event("\u00e9".repeat(100))));
+
+        final List<String> lines = Arrays.asList(calendar.split("\r\n"));
+        lines.forEach(line -> assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line));
+        final int summary = lines.indexOf(lines.stream().filter(l -> l.startsWith("SUMMARY:")).findFirst().get());
+        assertEquals(" ", lines.get(summary + 1).substring(0, 1));
+        assertEquals("\u00e9".repeat(100), (lines.get(summary) + lines.get(summary + 1).substring(1)
+                + lines.get(summary + 2).substring(1)).substring("SUMMARY:".length()));
+    }
+
+    @Test
+    void etagChangesWithContent() {
+        final CalendarService.Feed feed = CalendarService.Feed.of(CalendarService.render("Events",
+                List.of(event("Title"))));
+
+        assertEquals(feed.getEtag(), CalendarService.Feed.of(CalendarService.render("Events",
+                List.of(event("Title")))).getEtag());
+        assertNotEquals(feed.getEtag(), CalendarService.Feed.of(CalendarService.render("Events",
+                List.of(event("Changed")))).getEtag());
+    }
+
+    private static EventEntity event(final String title) {
+        final EventEntity event = new EventEntity();
+        event.setId(7L);
+        event.setTitle(title);
+        event.setStartTime(LocalDateTime.of(2030, 1, 2, 15, 30));
+        event.setUpdatedAt(new Date(0));
+        return event;
+    }
+}
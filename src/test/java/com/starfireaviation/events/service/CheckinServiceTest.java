@@ -0,0 +1,120 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.hazelcast.map.IMap;
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks hundreds of users in concurrently, each twice, and expects every check-in written exactly once by the time
+ * it returns.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:checkin;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CheckinServiceTest {
+
+    private static final int ATTENDEES = 300;
+
+    private static final int THREADS = 32;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        @SuppressWarnings("unchecked")
+        CheckinService checkinService(final EventRepository eventRepository, final JdbcTemplate jdbcTemplate) {
+            return new CheckinService(eventRepository, jdbcTemplate, mock(IMap.class));
+        }
+    }
+
+    @Autowired
+    private CheckinService checkinService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentCheckinsAreWrittenOnceBeforeReturning() throws Exception {
+        final long eventId = startEvent();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < ATTENDEES * 2; i++) {
+                final long userId = i % ATTENDEES;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    checkinService.checkin(eventId, userId);
+                    return countAttendance(eventId, userId);
+                }));
+            }
+            start.countDown();
+            for (final Future<Integer> future : futures) {
+                assertEquals(1, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(ATTENDEES, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_attendance WHERE event_id = ?", Integer.class, eventId));
+    }
+
+    private long startEvent() {
+        final EventEntity event = new EventEntity();
+        event.setTitle("Ground school");
+        event.setLessonPlanId(1L);
+        event.setLeader(1L);
+        final long eventId = eventRepository.save(event).getId();
+        eventRepository.markStarted(eventId, LocalDateTime.now());
+        return eventId;
+    }
+
+    private int countAttendance(final long eventId, final long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_attendance WHERE event_id = ? AND user_id = ?",
+                Integer.class, eventId, userId);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventParticipantRepository;
+import com.starfireaviation.events.model.EventRepository;
+import com.starfireaviation.events.model.EventWaitlistRepository;
+import com.starfireaviation.events.model.RegistrationStatus;
+import com.starfireaviation.events.model.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Registers hundreds of users concurrently against a capacity-limited event.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:registration;MODE=MySQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventServiceRegistrationTest {
+
+    private static final int CAPACITY = 50;
+
+    private static final int REGISTRANTS = 300;
+
+    private static final int THREADS = 32;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        EventService eventService(final EventRepository eventRepository,
+                                  final VoteRepository voteRepository,
+                                  final EventParticipantRepository eventParticipantRepository,
+                                  final EventWaitlistRepository eventWaitlistRepository,
+                                  final DataService dataService) {
+            return new EventService(eventRepository, voteRepository, eventParticipantRepository,
+                    eventWaitlistRepository, dataService, new VoteTally(voteRepository), new SimpleMeterRegistry());
+        }
+    }
+
+    @MockBean
+    private DataService dataService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void concurrentRegistrationsNeverExceedCapacity() throws Exception {
+        final long eventId = createEvent();
+        eventService.setCapacity(eventId, CAPACITY);
+
+        final Map<RegistrationStatus, Integer> outcomes = registerConcurrently(eventId, REGISTRANTS);
+
+        assertEquals(CAPACITY, outcomes.getOrDefault(RegistrationStatus.REGISTERED, 0));
+        assertEquals(REGISTRANTS - CAPACITY, outcomes.getOrDefault(RegistrationStatus.WAITLISTED, 0));
+        assertEquals(CAPACITY, eventService.getParticipantCount(eventId));
+        assertEquals(CAPACITY, eventService.getParticipants(eventId).size());
+    }
+
+    @Test
+    void unregisterPromotesWaitlistInArrivalOrder() {
+        final long eventId = createEvent();
+        eventService.setCapacity(eventId, 1);
+        assertEquals(RegistrationStatus.REGISTERED, eventService.register(eventId, 1L));
+        assertEquals(RegistrationStatus.WAITLISTED, eventService.register(eventId, 2L));
+        assertEquals(RegistrationStatus.WAITLISTED, eventService.register(eventId, 3L));
+        assertEquals(RegistrationStatus.ALREADY_REGISTERED, eventService.register(eventId, 1L));
+
+        eventService.unregister(eventId, 1L);
+
+        assertTrue(eventService.isRegistered(eventId, 2L));
+        assertFalse(eventService.isRegistered(eventId, 3L));
+        assertEquals(1, eventService.getParticipantCount(eventId));
+
+        eventService.setCapacity(eventId, null);
+
+        assertTrue(eventService.isRegistered(eventId, 3L));
+        assertEquals(2, eventService.getParticipantCount(eventId));
+    }
+
+    @Test
+    void concurrentUnregistersPromoteEachWaitlistedUserOnce() throws Exception {
+        final long eventId = createEvent();
+        eventService.setCapacity(eventId, CAPACITY);
+        registerConcurrently(eventId, CAPACITY * 2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Callable<Void>> tasks = new ArrayList<>();
+            for (long userId = 1; userId <= CAPACITY; userId++) {
+                final long id = userId;
+                tasks.add(() -> {
+                    eventService.unregister(eventId, id);
+                    return null;
+                });
+            }
+            for (final Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(CAPACITY, eventService.getParticipantCount(eventId));
+        assertEquals(CAPACITY, eventService.getParticipants(eventId).stream().distinct().count());
+    }
+
+    @Test
+    void registrationEvictsOnlyTheRegisteredEvent() {
+        final long eventId = createEvent();
+        final long otherId = createEvent();
+        eventService.get(eventId);
+        eventService.get(otherId);
+        assertTrue(entityManagerFactory.getCache().contains(EventEntity.class, otherId));
+
+        assertEquals(RegistrationStatus.REGISTERED, eventService.register(eventId, 1L));
+
+        assertFalse(entityManagerFactory.getCache().contains(EventEntity.class, eventId));
+        assertTrue(entityManagerFactory.getCache().contains(EventEntity.class, otherId));
+        assertEquals(1, eventService.getParticipantCount(eventId));
+    }
+
+    private long createEvent() {
+        final EventEntity event = new EventEntity();
+        event.setTitle("Checkride prep");
+        event.setStartTime(LocalDateTime.now().plusDays(1));
+        event.setLessonPlanId(1L);
+        event.setLeader(1L);
+        return eventRepository.save(event).getId();
+    }
+
+    private Map<RegistrationStatus, Integer> registerConcurrently(final long eventId, final int registrants)
+            throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<RegistrationStatus>> futures = new ArrayList<>();
+            for (long userId = 1; userId <= registrants; userId++) {
+                final long id = userId;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return eventService.register(eventId, id);
+                }));
+            }
+            start.countDown();
+            final Map<RegistrationStatus, Integer> outcomes = new EnumMap<>(RegistrationStatus.class);
+            for (final Future<RegistrationStatus> future : futures) {
+                outcomes.merge(future.get(), 1, Integer::sum);
+            }
+            return outcomes;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventServiceSearchTest {
+
+    @Test
+    void requiresAPrefixMatchOfEachWord() {
+        assertEquals("+weather* +front*", EventService.toBooleanQuery("  Weather front ").toLowerCase());
+        assertEquals("+ground* +school*", EventService.toBooleanQuery("ground-school"));
+    }
+
+    @Test
+    void dropsFullTextOperators() {
+        assertEquals("+vor* +ndb*", EventService.toBooleanQuery("+VOR -\"NDB*\" (@>~<)").toLowerCase());
+        assertEquals("", EventService.toBooleanQuery("*+-"));
+        assertEquals("", EventService.toBooleanQuery(null));
+    }
+}
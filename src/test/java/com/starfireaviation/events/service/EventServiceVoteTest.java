@@ -0,0 +1,163 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.events.model.EventParticipantRepository;
+import com.starfireaviation.events.model.EventRepository;
+import com.starfireaviation.events.model.EventWaitlistRepository;
+import com.starfireaviation.events.model.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the live vote tally against VOTE as votes are cast, changed and withdrawn.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:votes;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventServiceVoteTest {
+
+    private static final long GROUND_SCHOOL = 10L;
+
+    private static final long WEATHER = 20L;
+
+    private static final int THREADS = 16;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        VoteTally voteTally(final VoteRepository voteRepository) {
+            return new VoteTally(voteRepository);
+        }
+
+        @Bean
+        EventService eventService(final EventRepository eventRepository,
+                                  final VoteRepository voteRepository,
+                                  final EventParticipantRepository eventParticipantRepository,
+                                  final EventWaitlistRepository eventWaitlistRepository,
+                                  final DataService dataService,
+                                  final VoteTally voteTally) {
+            return new EventService(eventRepository, voteRepository, eventParticipantRepository,
+                    eventWaitlistRepository, dataService, voteTally, new SimpleMeterRegistry());
+        }
+    }
+
+    @MockBean
+    private DataService dataService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private VoteTally voteTally;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @BeforeEach
+    void lessonPlansExist() {
+        when(dataService.existsLessonPlan(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void changedVoteMovesToTheNewLessonPlan() {
+        final long eventId = 1L;
+        eventService.vote(eventId, 1L, GROUND_SCHOOL);
+        eventService.vote(eventId, 2L, GROUND_SCHOOL);
+        eventService.vote(eventId, 1L, WEATHER);
+        eventService.vote(eventId, 1L, WEATHER);
+
+        assertEquals(Map.of(GROUND_SCHOOL, 1L, WEATHER, 1L), eventService.getVoteTally(eventId));
+        assertTallyMatchesVotes(eventId);
+    }
+
+    @Test
+    void withdrawnVoteIsRemovedFromTheTally() {
+        final long eventId = 2L;
+        eventService.vote(eventId, 3L, GROUND_SCHOOL);
+        eventService.vote(eventId, 4L, WEATHER);
+
+        eventService.withdrawVote(eventId, 3L);
+        eventService.withdrawVote(eventId, 3L);
+
+        assertEquals(Map.of(WEATHER, 1L), eventService.getVoteTally(eventId));
+        assertTallyMatchesVotes(eventId);
+
+        eventService.withdrawVote(eventId, 4L);
+
+        assertEquals(Map.of(), eventService.getVoteTally(eventId));
+    }
+
+    @Test
+    void concurrentFirstVotesConvergeOnOneVote() throws Exception {
+        final long eventId = 3L;
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    eventService.vote(eventId, 5L, WEATHER);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, voteRepository.findByEventId(eventId).orElseThrow().size());
+        voteTally.rebuild();
+        assertEquals(Map.of(WEATHER, 1L), eventService.getVoteTally(eventId));
+    }
+
+    private void assertTallyMatchesVotes(final long eventId) {
+        final Map<Long, Long> live = eventService.getVoteTally(eventId);
+        voteTally.rebuild();
+        assertEquals(voteTally.getTally(eventId), live);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.events.service;
+
+import com.starfireaviation.events.model.EventEntity;
+import com.starfireaviation.events.model.EventSeries;
+import com.starfireaviation.events.model.Frequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeriesServiceTest {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2030, 1, 2, 18, 0);
+
+    @Test
+    void expandsOnlyWithinTheWindow() {
+        final EventSeries series = weekly();
+
+        assertEquals(List.of(FIRST.plusWeeks(52), FIRST.plusWeeks(53)),
+                SeriesService.expand(series, FIRST.plusWeeks(52).minusDays(1), FIRST.plusWeeks(54)));
+        assertEquals(List.of(FIRST), SeriesService.expand(series, FIRST.minusYears(1), FIRST.plusDays(1)));
+    }
+
+    @Test
+    void honoursIntervalCountAndLastStart() {
+        final EventSeries series = weekly();
+        series.setInterval(2);
+        series.setCount(3);
+
+        assertEquals(List.of(FIRST, FIRST.plusWeeks(2), FIRST.plusWeeks(4)),
+                SeriesService.expand(series, FIRST, FIRST.plusYears(1)));
+
+        series.setCount(null);
+        series.setLastStart(FIRST.plusWeeks(2));
+        assertEquals(List.of(FIRST, FIRST.plusWeeks(2)), SeriesService.expand(series, FIRST, FIRST.plusYears(1)));
+    }
+
+    @Test
+    void skipsCancelledOccurrences() {
+        final EventSeries series = weekly();
+        series.getExceptions().add(FIRST.plusWeeks(1));
+
+        assertEquals(List.of(FIRST, FIRST.plusWeeks(2)), SeriesService.expand(series, FIRST, FIRST.plusWeeks(3)));
+        assertFalse(SeriesService.isOccurrence(series, FIRST.plusWeeks(1)));
+        assertTrue(SeriesService.isOccurrence(series, FIRST.plusWeeks(2)));
+        assertFalse(SeriesService.isOccurrence(series, FIRST.plusWeeks(2).plusHours(1)));
+    }
+
+    @Test
+    void expandsAtMostTheLimit() {
+        final EventSeries series = weekly();
+
+        assertEquals(List.of(FIRST.plusWeeks(1), FIRST.plusWeeks(2)),
+                SeriesService.expand(series, FIRST.plusDays(1), LocalDateTime.MAX, 2));
+    }
+
+    @Test
+    void mergesOccurrencesByStartTime() {
+        final EventSeries series = weekly();
+        final EventEntity event = new EventEntity();
+        event.setId(7L);
+        event.setStartTime(FIRST.plusDays(8));
+        final EventEntity first = SeriesService.instantiate(series, FIRST);
+        final EventEntity second = SeriesService.instantiate(series, FIRST.plusWeeks(1));
+        final EventEntity third = SeriesService.instantiate(series, FIRST.plusWeeks(2));
+
+        assertEquals(List.of(first, second, event),
+                SeriesService.merge(List.of(event), List.of(first, second, third), EventEntity::getStartTime, 3));
+    }
+
+    private static EventSeries weekly() {
+        final EventSeries series = new EventSeries();
+        series.setId(3L);
+        series.setTitle("Ground school");
+        series.setFirstStart(FIRST);
+        series.setFrequency(Frequency.WEEKLY);
+        return series;
+    }
+}
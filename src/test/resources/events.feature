@@ -219,3 +219,50 @@ Feature: Events
     When I complete an event
     Then I should receive a success response
 
+
+  @QueryBudget
+  Scenario: Listing 100 events issues at most 3 queries
+    Given 100 upcoming events exist
+    When I list all events
+    Then at most 3 SQL statements should have been issued
+
+  @QueryBudget
+  Scenario: Listing events with participants does not query per event
+    Given 100 upcoming events exist
+    And each event has 5 participants
+    When I list all events with participants
+    Then at most 3 SQL statements should have been issued
+
+  @QueryBudget
+  Scenario: Getting upcoming events with participants does not query per event
+    Given 20 upcoming events exist
+    And each event has 5 participants
+    When I get the 10 next upcoming events with participants
+    Then at most 3 SQL statements should have been issued
+
+  @QueryBudget
+  Scenario: Getting upcoming events reports participant counts without loading participants
+    Given 20 events starting within the hour exist
+    And 5 users are registered for each event
+    When I get the 10 next upcoming events
+    Then each upcoming event should report 5 participants without listing them
+    And at most 2 SQL statements should have been issued
+
+  @QueryBudget
+  Scenario: Getting an event issues at most 1 query
+    Given 1 upcoming events exist
+    When I get one of the events
+    Then at most 1 SQL statement should have been issued
+
+  @QueryBudget
+  Scenario: Registering for an event issues at most 5 queries
+    Given 1 upcoming events exist
+    When I register a user for one of the events
+    Then at most 5 SQL statements should have been issued
+
+  @QueryBudget
+  Scenario: Getting a user's events with participants does not query per event
+    Given 50 upcoming events exist
+    And each event has 5 participants
+    When I get the upcoming events of user 1 with participants
+    Then at most 3 SQL statements should have been issued